@@ -0,0 +1,106 @@
+package com.leratortech.toolkit.collection;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link ArrayUtils} loops with exact-size allocation vs the previous stream / list based implementations
+ * (kept here as {@code *Stream} baselines). ~20% nulls for compact, ~50% matches for filter, 64 rows for
+ * flatten. Run with {@code -prof gc} to compare the allocation per op as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ArrayUtilsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Integer[] boxed;
+    private Integer[] withNulls;
+    private Integer[][] rows;
+    private int[] ints;
+    private int[][] intRows;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        ints = random.ints(size).toArray();
+        boxed = Arrays.stream(ints).boxed().toArray(Integer[]::new);
+        withNulls = boxed.clone();
+        for (int i = 0; i < withNulls.length; i++) {
+            if (random.nextInt(5) == 0) withNulls[i] = null;
+        }
+        int rowCount = 64;
+        rows = new Integer[rowCount][];
+        intRows = new int[rowCount][];
+        for (int r = 0; r < rowCount; r++) {
+            int from = (int) ((long) size * r / rowCount);
+            int to = (int) ((long) size * (r + 1) / rowCount);
+            rows[r] = Arrays.copyOfRange(boxed, from, to);
+            intRows[r] = Arrays.copyOfRange(ints, from, to);
+        }
+    }
+
+    @Benchmark
+    public Integer[] compact() { return ArrayUtils.compact(withNulls, Integer.class); }
+
+    @Benchmark
+    public Integer[] compactStream() {
+        return Arrays.stream(withNulls).filter(Objects::nonNull).toList().toArray(n -> ArrayUtils.newArray(Integer.class, n));
+    }
+
+    @Benchmark
+    public Integer[] filter() { return ArrayUtils.filter(boxed, Integer.class, x -> (x & 1) == 0); }
+
+    @Benchmark
+    public Integer[] filterStream() {
+        return Arrays.stream(boxed).filter(x -> (x & 1) == 0).toArray(n -> ArrayUtils.newArray(Integer.class, n));
+    }
+
+    @Benchmark
+    public int[] filterInt() { return ArrayUtils.filter(ints, x -> (x & 1) == 0); }
+
+    @Benchmark
+    public int[] filterIntStream() { return Arrays.stream(ints).filter(x -> (x & 1) == 0).toArray(); }
+
+    @Benchmark
+    public Integer[] flatten() { return ArrayUtils.flatten(rows, Integer.class); }
+
+    @Benchmark
+    public Integer[] flattenStream() {
+        return Arrays.stream(rows).filter(Objects::nonNull).flatMap(Arrays::stream)
+                .toArray(n -> ArrayUtils.newArray(Integer.class, n));
+    }
+
+    @Benchmark
+    public int[] flattenInt() { return ArrayUtils.flatten(intRows); }
+
+    @Benchmark
+    public int[] flattenIntStream() { return Arrays.stream(intRows).filter(Objects::nonNull).flatMapToInt(Arrays::stream).toArray(); }
+
+    @Benchmark
+    public Integer[] reverse() { return ArrayUtils.reverse(boxed, Integer.class); }
+
+    @Benchmark
+    public Integer[] reverseInPlace() { return ArrayUtils.reverseInPlace(boxed); }
+
+    @Benchmark
+    public Integer[] reverseStream() {
+        var list = Arrays.asList(boxed.clone());
+        Collections.reverse(list);
+        return list.toArray(n -> ArrayUtils.newArray(Integer.class, n));
+    }
+
+    @Benchmark
+    public int[] reverseInt() { return ArrayUtils.reverse(ints); }
+
+    @Benchmark
+    public int[] reverseIntStream() { return IntStream.range(0, ints.length).map(i -> ints[ints.length - 1 - i]).toArray(); }
+}
@@ -0,0 +1,63 @@
+package com.leratortech.toolkit.collection;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential vs parallel bulk operations across input sizes, to find the crossover that
+ * {@link CollectionUtils#PARALLEL_THRESHOLD} should sit at on a given machine. {@code parallel=false} passes
+ * an unreachable threshold (sequential path), {@code parallel=true} passes 0 (always forks).
+ * Compare the two rows per size; run on the target core count, e.g.
+ * {@code -jvmArgsAppend -Djava.util.concurrent.ForkJoinPool.common.parallelism=8}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CollectionParallelBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private int threshold;
+    private List<Long> ids;
+    private List<Long> withNulls;
+    private Map<Long, Long> map;
+
+    @Setup
+    public void setup() {
+        threshold = parallel ? 0 : Integer.MAX_VALUE;
+        Random random = new Random(42);
+        ids = new ArrayList<>(size);
+        withNulls = new ArrayList<>(size);
+        map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            long id = random.nextInt(Math.max(1, size / 2));
+            ids.add(id);
+            withNulls.add(i % 10 == 0 ? null : id);
+            map.put((long) i, id);
+        }
+    }
+
+    @Benchmark
+    public Map<Long, Long> toMap() { return CollectionUtils.toMapParallel(ids, id -> id, threshold); }
+
+    @Benchmark
+    public List<Long> distinct() { return CollectionUtils.distinctParallel(ids, threshold); }
+
+    @Benchmark
+    public List<Long> removeNulls() { return CollectionUtils.removeNullsParallel(withNulls, threshold); }
+
+    @Benchmark
+    public List<Long> distinctBy() { return ListUtils.distinctByParallel(ids, id -> id % 1_000, threshold); }
+
+    @Benchmark
+    public Map<Long, Long> filter() { return MapUtils.filterParallel(map, e -> (e.getValue() & 1) == 0, threshold); }
+}
@@ -0,0 +1,81 @@
+package com.leratortech.toolkit.collection;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boxed ({@code List<Long>} / {@code Set<Long>}) vs primitive ({@code long[]} + {@link LongHashSet}) set algebra
+ * on product-id-like data: two id lists of {@code size} with ~50% overlap and ~10% duplicates.
+ * Run with {@code -prof gc} to compare the allocation per op as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PrimitiveSetOpsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private long[] a;
+    private long[] b;
+    private List<Long> listA;
+    private List<Long> listB;
+    private Set<Long> setA;
+    private Set<Long> setB;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        long bound = size * 9L / 10;
+        a = random.longs(size, 1_000_000, 1_000_000 + bound).toArray();
+        b = random.longs(size, 1_000_000 + bound / 2, 1_000_000 + bound / 2 + bound).toArray();
+        listA = Arrays.stream(a).boxed().toList();
+        listB = Arrays.stream(b).boxed().toList();
+        setA = new HashSet<>(listA);
+        setB = new HashSet<>(listB);
+    }
+
+    @Benchmark
+    public List<Long> distinctBoxed() { return CollectionUtils.distinct(listA); }
+
+    @Benchmark
+    public long[] distinctPrimitive() { return CollectionUtils.distinct(a); }
+
+    @Benchmark
+    public List<Long> intersectionBoxed() { return ListUtils.intersection(listA, listB); }
+
+    @Benchmark
+    public long[] intersectionPrimitive() { return ListUtils.intersection(a, b); }
+
+    @Benchmark
+    public List<Long> diffBoxed() {
+        // the boxed diff needs a Set argument to avoid O(n * m); building it is part of the cost, as for long[]
+        return ListUtils.diff(listA, new HashSet<>(listB));
+    }
+
+    @Benchmark
+    public long[] diffPrimitive() { return ListUtils.diff(a, b); }
+
+    @Benchmark
+    public Set<Long> unionBoxed() { return SetUtils.union(setA, setB); }
+
+    @Benchmark
+    public long[] unionPrimitive() { return SetUtils.union(a, b); }
+
+    @Benchmark
+    public Set<Long> intersectBoxed() { return SetUtils.intersect(setA, setB); }
+
+    @Benchmark
+    public long[] intersectPrimitive() { return SetUtils.intersect(a, b); }
+
+    @Benchmark
+    public Set<Long> differenceBoxed() { return SetUtils.difference(setA, setB); }
+
+    @Benchmark
+    public long[] differencePrimitive() { return SetUtils.difference(a, b); }
+}
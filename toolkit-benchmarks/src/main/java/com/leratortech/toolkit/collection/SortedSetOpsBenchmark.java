@@ -0,0 +1,62 @@
+package com.leratortech.toolkit.collection;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Strategy comparison for {@code long[]} set algebra on million-element id lists: hashing (shuffled input),
+ * linear merge (sorted, comparable sizes) and galloping (sorted, {@code small} much smaller than 1M).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SortedSetOpsBenchmark {
+
+    private static final int LARGE = 1_000_000;
+
+    @Param({"1000", "1000000"})
+    public int small;
+
+    private long[] sortedSmall;
+    private long[] sortedLarge;
+    private long[] shuffledSmall;
+    private long[] shuffledLarge;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        sortedSmall = random.longs(small, 0, 2L * LARGE).toArray();
+        sortedLarge = random.longs(LARGE, 0, 2L * LARGE).toArray();
+        shuffledSmall = sortedSmall.clone();
+        shuffledLarge = sortedLarge.clone();
+        Arrays.sort(sortedSmall);
+        Arrays.sort(sortedLarge);
+    }
+
+    @Benchmark
+    public long[] intersectHashing() { return SetUtils.intersect(shuffledSmall, shuffledLarge); }
+
+    @Benchmark
+    public long[] intersectSorted() { return SetUtils.intersect(sortedSmall, sortedLarge); }
+
+    @Benchmark
+    public long[] intersectSortingFirst() { return SortedArrays.intersect(shuffledSmall, shuffledLarge); }
+
+    @Benchmark
+    public long[] differenceHashing() { return SetUtils.difference(shuffledSmall, shuffledLarge); }
+
+    @Benchmark
+    public long[] differenceSorted() { return SetUtils.difference(sortedSmall, sortedLarge); }
+
+    @Benchmark
+    public long[] unionHashing() { return SetUtils.union(shuffledSmall, shuffledLarge); }
+
+    @Benchmark
+    public long[] unionSorted() { return SortedArrays.union(sortedSmall, sortedLarge); }
+}
@@ -0,0 +1,83 @@
+package com.leratortech.toolkit.tree;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LCA / level-ancestor: {@link TreeAncestorIndex} vs walking {@link TreeSearch#getAncestors} per query
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeAncestorBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    private TreeAncestorIndex<TreeFixtures.Item> index;
+    private TreeNode<TreeFixtures.Item>[] left;
+    private TreeNode<TreeFixtures.Item>[] right;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        // ~10k wards: 63 provinces x 10 districts x 16 wards
+        IndexedTree<TreeFixtures.Item, Long> tree = TreeBuilder.buildIndexedTree(
+                TreeFixtures.adminUnits(63, 10, 16), TreeFixtures.Item::id, TreeFixtures.Item::parentId);
+        index = TreeAncestorIndex.of(tree.getRoots());
+
+        List<TreeNode<TreeFixtures.Item>> nodes = index.intervals().nodes();
+        Random random = new Random(42);
+        left = new TreeNode[QUERIES];
+        right = new TreeNode[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            left[i] = nodes.get(random.nextInt(nodes.size()));
+            right[i] = nodes.get(random.nextInt(nodes.size()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void lcaNaive(Blackhole bh) {
+        for (int i = 0; i < QUERIES; i++) bh.consume(naiveLca(left[i], right[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void lcaIndexed(Blackhole bh) {
+        for (int i = 0; i < QUERIES; i++) bh.consume(index.lowestCommonAncestor(left[i], right[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void rootAncestorNaive(Blackhole bh) {
+        for (int i = 0; i < QUERIES; i++) {
+            List<TreeNode<TreeFixtures.Item>> ancestors = TreeSearch.getAncestors(left[i]);
+            bh.consume(ancestors.isEmpty() ? left[i] : ancestors.get(0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void rootAncestorIndexed(Blackhole bh) {
+        for (int i = 0; i < QUERIES; i++) bh.consume(index.ancestorAtDepth(left[i], 0));
+    }
+
+    private static <T> TreeNode<T> naiveLca(TreeNode<T> a, TreeNode<T> b) {
+        List<TreeNode<T>> pathA = TreeSearch.getAncestors(a);
+        List<TreeNode<T>> pathB = TreeSearch.getAncestors(b);
+        pathA.add(a);
+        pathB.add(b);
+        TreeNode<T> lca = null;
+        for (int i = 0; i < Math.min(pathA.size(), pathB.size()) && pathA.get(i) == pathB.get(i); i++) {
+            lca = pathA.get(i);
+        }
+        return lca;
+    }
+}
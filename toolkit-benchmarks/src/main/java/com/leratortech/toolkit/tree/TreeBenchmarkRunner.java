@@ -0,0 +1,29 @@
+package com.leratortech.toolkit.tree;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the tree benchmarks with the GC profiler (allocation rate, bytes/op) and writes a JSON report
+ * for release-to-release comparison.
+ * <p>
+ * Args: [include regex] [result file], default {@code TreeOperationsBenchmark} and {@code jmh-tree.json}.
+ */
+public final class TreeBenchmarkRunner {
+
+    private TreeBenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : TreeOperationsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(args.length > 1 ? args[1] : "jmh-tree.json")
+                .build();
+        new Runner(options).run();
+    }
+}
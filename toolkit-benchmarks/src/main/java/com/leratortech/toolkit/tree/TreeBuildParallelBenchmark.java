@@ -0,0 +1,49 @@
+package com.leratortech.toolkit.tree;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link TreeBuilder#buildIndexedTreeParallel} at 1/2/4/8 workers vs the sequential build
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TreeBuildParallelBenchmark {
+
+    @Param({"3000000"})
+    public int size;
+
+    @Param({"1", "2", "4", "8"})
+    public int cores;
+
+    private List<TreeFixtures.Item> items;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        items = TreeFixtures.randomForest(size, 42);
+        pool = new ForkJoinPool(cores);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public IndexedTree<TreeFixtures.Item, Long> sequential() {
+        return TreeBuilder.buildIndexedTree(items, TreeFixtures.Item::id, TreeFixtures.Item::parentId);
+    }
+
+    @Benchmark
+    public IndexedTree<TreeFixtures.Item, Long> parallel() {
+        return TreeBuilder.buildIndexedTreeParallel(items, TreeFixtures.Item::id, TreeFixtures.Item::parentId, pool);
+    }
+}
@@ -0,0 +1,69 @@
+package com.leratortech.toolkit.tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generated flat inputs for tree benchmarks
+ */
+final class TreeFixtures {
+
+    private TreeFixtures() {}
+
+    record Item(Long id, Long parentId, String name) {}
+
+    /** Province -> district -> ward hierarchy, shaped like the Vietnamese admin-unit tree */
+    static List<Item> adminUnits(int provinces, int districtsPerProvince, int wardsPerDistrict) {
+        List<Item> items = new ArrayList<>(provinces * (1 + districtsPerProvince * (1 + wardsPerDistrict)));
+        long id = 1;
+        for (int p = 0; p < provinces; p++) {
+            long provinceId = id++;
+            items.add(new Item(provinceId, null, "Tỉnh " + p));
+            for (int d = 0; d < districtsPerProvince; d++) {
+                long districtId = id++;
+                items.add(new Item(districtId, provinceId, "Quận " + p + "." + d));
+                for (int w = 0; w < wardsPerDistrict; w++) {
+                    items.add(new Item(id++, districtId, "Phường " + p + "." + d + "." + w));
+                }
+            }
+        }
+        return items;
+    }
+
+    /** Random forest (about 1 root per 1000 rows) shuffled like an unordered DB export */
+    static List<Item> randomForest(int size, long seed) {
+        Random random = new Random(seed);
+        List<Item> items = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Long parentId = id == 1 || random.nextInt(1000) == 0 ? null : 1 + (long) random.nextInt((int) id - 1);
+            items.add(new Item(id, parentId, "n" + id));
+        }
+        Collections.shuffle(items, random);
+        return items;
+    }
+
+    /** Tree shapes for the core operation benchmarks; ids are 1..size in pre-order-friendly input order */
+    enum Shape {
+        /** Complete binary tree, height ~ log2(size) */
+        BALANCED,
+        /** One root with every other node as its direct child */
+        WIDE,
+        /** Degenerate chain, height == size */
+        CHAIN
+    }
+
+    static List<Item> shaped(Shape shape, int size) {
+        List<Item> items = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Long parentId = id == 1 ? null : switch (shape) {
+                case BALANCED -> id / 2;
+                case WIDE -> 1L;
+                case CHAIN -> id - 1;
+            };
+            items.add(new Item(id, parentId, "n" + id));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,62 @@
+package com.leratortech.toolkit.tree;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Retained heap per node of the tree representations for the same input: linked {@link TreeNode} forest,
+ * {@link IndexedTree} (forest + id index) and {@link CompactTree}. The input list is built before the
+ * baseline sample and shared, so item payloads are excluded.
+ * <p>
+ * Heap-delta measurement: the built structure is held in a field (and fenced) while the heap is sampled
+ * after repeated GCs; the median of several runs is reported, unclamped. Run on an otherwise idle JVM,
+ * e.g. {@code java -Xmx2g -cp benchmarks.jar com.leratortech.toolkit.tree.TreeMemoryReport [size]}.
+ */
+public final class TreeMemoryReport {
+
+    private static final int RUNS = 5;
+
+    /** Keeps the measured structure strongly reachable while the heap is sampled */
+    private static Object retained;
+
+    private TreeMemoryReport() {}
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<TreeFixtures.Item> items = TreeFixtures.randomForest(size, 42);
+
+        report("TreeNode", size, () -> TreeBuilder.buildTree(items, TreeFixtures.Item::id, TreeFixtures.Item::parentId));
+        report("IndexedTree", size, () -> TreeBuilder.buildIndexedTree(items, TreeFixtures.Item::id, TreeFixtures.Item::parentId));
+        report("CompactTree", size, () -> CompactTree.build(items, TreeFixtures.Item::id, TreeFixtures.Item::parentId));
+        Reference.reachabilityFence(items);
+    }
+
+    private static void report(String name, int size, Supplier<Object> builder) {
+        long[] bytes = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) bytes[run] = retainedBytes(builder);
+        Arrays.sort(bytes);
+        long median = bytes[RUNS / 2];
+        System.out.printf("%-12s %,14d B  %6.1f B/node  (runs: %s)%n", name, median, (double) median / size, Arrays.toString(bytes));
+    }
+
+    private static long retainedBytes(Supplier<Object> builder) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        retained = null;
+        settle(memory);
+        long before = memory.getHeapMemoryUsage().getUsed();
+        retained = builder.get();
+        settle(memory);
+        long after = memory.getHeapMemoryUsage().getUsed();
+        Reference.reachabilityFence(retained);
+        retained = null;
+        return after - before;
+    }
+
+    private static void settle(MemoryMXBean memory) {
+        for (int i = 0; i < 4; i++) memory.gc();
+    }
+}
@@ -0,0 +1,83 @@
+package com.leratortech.toolkit.tree;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the core tree operations on balanced, wide and chain-shaped trees.
+ * Run with {@code -prof gc} (or {@link TreeBenchmarkRunner}) to also get the allocation rate per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TreeOperationsBenchmark {
+
+    /** {@link TreeFixtures.Shape} name; a String because the generated JMH code cannot see the package-private fixtures */
+    @Param({"BALANCED", "WIDE", "CHAIN"})
+    public String shape;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private List<TreeFixtures.Item> items;
+    private List<TreeNode<TreeFixtures.Item>> roots;
+    private TreeNode<TreeFixtures.Item> middle;
+    private Long lastId;
+
+    @Setup
+    public void setup() {
+        items = TreeFixtures.shaped(TreeFixtures.Shape.valueOf(shape), size);
+        roots = TreeBuilder.buildTree(items, TreeFixtures.Item::id, TreeFixtures.Item::parentId);
+        // the node half-way through the pre-order: a mid-size subtree for getDescendants
+        middle = TreeTraversal.flatten(roots).get(size / 2);
+        // found last by a pre-order search in every shape, so findNodeById scans the whole tree
+        lastId = TreeTraversal.flattenData(roots).get(size - 1).id();
+    }
+
+    @Benchmark
+    public List<TreeNode<TreeFixtures.Item>> buildTree() {
+        return TreeBuilder.buildTree(items, TreeFixtures.Item::id, TreeFixtures.Item::parentId);
+    }
+
+    @Benchmark
+    public List<TreeNode<TreeFixtures.Item>> buildTreeByLongId() {
+        return TreeBuilder.buildTreeByLongId(items, TreeFixtures.Item::id, item -> item.parentId() == null ? 0 : item.parentId());
+    }
+
+    @Benchmark
+    public List<TreeNode<TreeFixtures.Item>> flatten() {
+        return TreeTraversal.flatten(roots);
+    }
+
+    @Benchmark
+    public List<TreeNode<TreeFixtures.Item>> flattenPresized() {
+        return TreeTraversal.flatten(roots, size);
+    }
+
+    @Benchmark
+    public Optional<TreeNode<TreeFixtures.Item>> findNodeById() {
+        return TreeSearch.findNodeById(roots, TreeFixtures.Item::id, lastId);
+    }
+
+    @Benchmark
+    public List<TreeNode<TreeFixtures.Item>> getDescendants() {
+        return TreeSearch.getDescendants(middle);
+    }
+
+    @Benchmark
+    public int getHeight() {
+        return TreeStats.getHeight(roots);
+    }
+
+    @Benchmark
+    public Map<Long, List<TreeNode<TreeFixtures.Item>>> treeToMap() {
+        return TreeMapUtils.treeToMap(roots, node -> node.getData().parentId());
+    }
+}
@@ -2,8 +2,17 @@ package com.leratortech.toolkit.collection;
 
 import java.lang.reflect.Array;
 import java.util.*;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
 import java.util.stream.*;
 
+/**
+ * Tiện ích cho mảng. compact / flatten / filter / map / reverse chạy vòng lặp trực tiếp và cấp phát
+ * mảng kết quả đúng kích thước một lần (đếm trước rồi mới điền), không qua stream hay list trung gian.
+ * Khi kiểu phần tử của mảng nguồn trùng {@code type} thì dùng {@link Arrays#copyOf}, không cần reflection.
+ * Có bản in-place (reverseInPlace, compactInPlace) và bản cho {@code int[]} / {@code long[]} / {@code double[]}.
+ */
 public final class ArrayUtils {
 
     private ArrayUtils() {}
@@ -30,25 +39,61 @@ public final class ArrayUtils {
                 : arr[index];
     }
 
-    /** Loại bỏ null trong array */
+    /** Loại bỏ null trong array (mảng mới, đúng kích thước) */
     public static <T> T[] compact(T[] arr, Class<T> type) {
         if (arr == null) return newArray(type, 0);
 
-        var filtered = Arrays.stream(arr)
-                .filter(Objects::nonNull)
-                .toList();
+        int count = 0;
+        for (T e : arr) {
+            if (e != null) count++;
+        }
+        T[] result = newArray(arr, type, count);
+        if (count == arr.length) {
+            System.arraycopy(arr, 0, result, 0, count);
+            return result;
+        }
+        int k = 0;
+        for (T e : arr) {
+            if (e != null) result[k++] = e;
+        }
+        return result;
+    }
 
-        return filtered.toArray(size -> newArray(type, size));
+    /**
+     * Dồn các phần tử khác null lên đầu mảng (giữ thứ tự), phần còn lại gán null.
+     *
+     * @return số phần tử khác null
+     */
+    public static <T> int compactInPlace(T[] arr) {
+        if (arr == null) return 0;
+        int k = 0;
+        for (int i = 0; i < arr.length; i++) {
+            T e = arr[i];
+            if (e != null) arr[k++] = e;
+        }
+        Arrays.fill(arr, k, arr.length, null);
+        return k;
     }
 
-    /** Flatten mảng 2 chiều */
+    /** Flatten mảng 2 chiều (bỏ qua hàng null) */
     public static <T> T[] flatten(T[][] arr, Class<T> type) {
         if (arr == null) return newArray(type, 0);
 
-        return Arrays.stream(arr)
-                .filter(Objects::nonNull)
-                .flatMap(Arrays::stream)
-                .toArray(size -> newArray(type, size));
+        int total = 0;
+        T[] first = null;
+        for (T[] row : arr) {
+            if (row == null) continue;
+            total += row.length;
+            if (first == null) first = row;
+        }
+        T[] result = first == null ? newArray(type, 0) : newArray(first, type, total);
+        int k = 0;
+        for (T[] row : arr) {
+            if (row == null) continue;
+            System.arraycopy(row, 0, result, k, row.length);
+            k += row.length;
+        }
+        return result;
     }
 
     /** Tạo mảng mới theo type */
@@ -57,22 +102,48 @@ public final class ArrayUtils {
         return (T[]) Array.newInstance(type, size);
     }
 
+    /**
+     * Mảng {@code type} độ dài {@code size}. Nếu {@code sample} đúng kiểu thì dùng {@link Arrays#copyOf}
+     * (intrinsic của JVM, không reflection); phần đầu được chép từ {@code sample}, caller ghi đè lên.
+     */
+    private static <T> T[] newArray(T[] sample, Class<T> type, int size) {
+        return sample.getClass().getComponentType() == type
+                ? Arrays.copyOf(sample, size)
+                : newArray(type, size);
+    }
+
     /** Map phần tử trong mảng */
     public static <T, R> R[] map(T[] arr, Class<R> type, java.util.function.Function<T, R> mapper) {
         if (arr == null) return newArray(type, 0);
 
-        return Arrays.stream(arr)
-                .map(mapper)
-                .toArray(size -> newArray(type, size));
+        R[] result = newArray(type, arr.length);
+        for (int i = 0; i < arr.length; i++) result[i] = mapper.apply(arr[i]);
+        return result;
     }
 
-    /** Filter mảng */
+    /**
+     * Filter mảng. Lượt đầu ghi kết quả của {@code pred} vào bitmask (mỗi phần tử chỉ test một lần),
+     * lượt sau điền vào mảng đúng kích thước.
+     */
     public static <T> T[] filter(T[] arr, Class<T> type, java.util.function.Predicate<T> pred) {
         if (arr == null) return newArray(type, 0);
 
-        return Arrays.stream(arr)
-                .filter(pred)
-                .toArray(size -> newArray(type, size));
+        long[] mask = new long[(arr.length + 63) >>> 6];
+        int count = 0;
+        for (int i = 0; i < arr.length; i++) {
+            if (pred.test(arr[i])) {
+                mask[i >>> 6] |= 1L << i;
+                count++;
+            }
+        }
+        T[] result = newArray(arr, type, count);
+        int k = 0;
+        for (int w = 0; w < mask.length; w++) {
+            for (long bits = mask[w]; bits != 0; bits &= bits - 1) {
+                result[k++] = arr[(w << 6) + Long.numberOfTrailingZeros(bits)];
+            }
+        }
+        return result;
     }
 
     /** Tìm phần tử thỏa điều kiện */
@@ -91,14 +162,24 @@ public final class ArrayUtils {
         return arr == null ? "" : Arrays.stream(arr).map(String::valueOf).collect(Collectors.joining(sep));
     }
 
-    /** Reverse mảng */
+    /** Reverse mảng (mảng mới) */
     public static <T> T[] reverse(T[] arr, Class<T> type) {
         if (arr == null) return newArray(type, 0);
 
-        var list = Arrays.asList(arr.clone());
-        Collections.reverse(list);
+        T[] result = newArray(arr, type, arr.length);
+        for (int i = 0, j = arr.length - 1; j >= 0; i++, j--) result[i] = arr[j];
+        return result;
+    }
 
-        return list.toArray(size -> newArray(type, size));
+    /** Reverse ngay trên mảng, trả về chính mảng đó */
+    public static <T> T[] reverseInPlace(T[] arr) {
+        if (arr == null) return null;
+        for (int i = 0, j = arr.length - 1; i < j; i++, j--) {
+            T tmp = arr[i];
+            arr[i] = arr[j];
+            arr[j] = tmp;
+        }
+        return arr;
     }
 
     /** Lấy phần tử ngẫu nhiên */
@@ -106,4 +187,175 @@ public final class ArrayUtils {
         if (isEmpty(arr)) return null;
         return arr[new Random().nextInt(arr.length)];
     }
+
+    // -----------------------------
+    // int[]
+    // -----------------------------
+
+    public static int[] reverse(int[] arr) {
+        if (arr == null) return new int[0];
+        int[] result = new int[arr.length];
+        for (int i = 0, j = arr.length - 1; j >= 0; i++, j--) result[i] = arr[j];
+        return result;
+    }
+
+    public static int[] reverseInPlace(int[] arr) {
+        if (arr == null) return null;
+        for (int i = 0, j = arr.length - 1; i < j; i++, j--) {
+            int tmp = arr[i];
+            arr[i] = arr[j];
+            arr[j] = tmp;
+        }
+        return arr;
+    }
+
+    public static int[] filter(int[] arr, IntPredicate pred) {
+        if (arr == null) return new int[0];
+        long[] mask = new long[(arr.length + 63) >>> 6];
+        int count = 0;
+        for (int i = 0; i < arr.length; i++) {
+            if (pred.test(arr[i])) {
+                mask[i >>> 6] |= 1L << i;
+                count++;
+            }
+        }
+        int[] result = new int[count];
+        int k = 0;
+        for (int w = 0; w < mask.length; w++) {
+            for (long bits = mask[w]; bits != 0; bits &= bits - 1) {
+                result[k++] = arr[(w << 6) + Long.numberOfTrailingZeros(bits)];
+            }
+        }
+        return result;
+    }
+
+    public static int[] flatten(int[][] arr) {
+        if (arr == null) return new int[0];
+        int total = 0;
+        for (int[] row : arr) {
+            if (row != null) total += row.length;
+        }
+        int[] result = new int[total];
+        int k = 0;
+        for (int[] row : arr) {
+            if (row == null) continue;
+            System.arraycopy(row, 0, result, k, row.length);
+            k += row.length;
+        }
+        return result;
+    }
+
+    // -----------------------------
+    // long[]
+    // -----------------------------
+
+    public static long[] reverse(long[] arr) {
+        if (arr == null) return new long[0];
+        long[] result = new long[arr.length];
+        for (int i = 0, j = arr.length - 1; j >= 0; i++, j--) result[i] = arr[j];
+        return result;
+    }
+
+    public static long[] reverseInPlace(long[] arr) {
+        if (arr == null) return null;
+        for (int i = 0, j = arr.length - 1; i < j; i++, j--) {
+            long tmp = arr[i];
+            arr[i] = arr[j];
+            arr[j] = tmp;
+        }
+        return arr;
+    }
+
+    public static long[] filter(long[] arr, LongPredicate pred) {
+        if (arr == null) return new long[0];
+        long[] mask = new long[(arr.length + 63) >>> 6];
+        int count = 0;
+        for (int i = 0; i < arr.length; i++) {
+            if (pred.test(arr[i])) {
+                mask[i >>> 6] |= 1L << i;
+                count++;
+            }
+        }
+        long[] result = new long[count];
+        int k = 0;
+        for (int w = 0; w < mask.length; w++) {
+            for (long bits = mask[w]; bits != 0; bits &= bits - 1) {
+                result[k++] = arr[(w << 6) + Long.numberOfTrailingZeros(bits)];
+            }
+        }
+        return result;
+    }
+
+    public static long[] flatten(long[][] arr) {
+        if (arr == null) return new long[0];
+        int total = 0;
+        for (long[] row : arr) {
+            if (row != null) total += row.length;
+        }
+        long[] result = new long[total];
+        int k = 0;
+        for (long[] row : arr) {
+            if (row == null) continue;
+            System.arraycopy(row, 0, result, k, row.length);
+            k += row.length;
+        }
+        return result;
+    }
+
+    // -----------------------------
+    // double[]
+    // -----------------------------
+
+    public static double[] reverse(double[] arr) {
+        if (arr == null) return new double[0];
+        double[] result = new double[arr.length];
+        for (int i = 0, j = arr.length - 1; j >= 0; i++, j--) result[i] = arr[j];
+        return result;
+    }
+
+    public static double[] reverseInPlace(double[] arr) {
+        if (arr == null) return null;
+        for (int i = 0, j = arr.length - 1; i < j; i++, j--) {
+            double tmp = arr[i];
+            arr[i] = arr[j];
+            arr[j] = tmp;
+        }
+        return arr;
+    }
+
+    public static double[] filter(double[] arr, DoublePredicate pred) {
+        if (arr == null) return new double[0];
+        long[] mask = new long[(arr.length + 63) >>> 6];
+        int count = 0;
+        for (int i = 0; i < arr.length; i++) {
+            if (pred.test(arr[i])) {
+                mask[i >>> 6] |= 1L << i;
+                count++;
+            }
+        }
+        double[] result = new double[count];
+        int k = 0;
+        for (int w = 0; w < mask.length; w++) {
+            for (long bits = mask[w]; bits != 0; bits &= bits - 1) {
+                result[k++] = arr[(w << 6) + Long.numberOfTrailingZeros(bits)];
+            }
+        }
+        return result;
+    }
+
+    public static double[] flatten(double[][] arr) {
+        if (arr == null) return new double[0];
+        int total = 0;
+        for (double[] row : arr) {
+            if (row != null) total += row.length;
+        }
+        double[] result = new double[total];
+        int k = 0;
+        for (double[] row : arr) {
+            if (row == null) continue;
+            System.arraycopy(row, 0, result, k, row.length);
+            k += row.length;
+        }
+        return result;
+    }
 }
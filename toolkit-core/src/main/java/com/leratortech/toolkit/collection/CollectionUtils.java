@@ -1,11 +1,22 @@
 package com.leratortech.toolkit.collection;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public final class CollectionUtils {
 
+    /**
+     * Default input size from which the {@code *Parallel} operations (here, in {@link ListUtils} and
+     * {@link MapUtils}) fork onto the common pool; smaller inputs run the sequential version. Measure with
+     * {@code CollectionParallelBenchmark} and pass an explicit threshold where the default does not fit.
+     */
+    public static final int PARALLEL_THRESHOLD = 10_000;
+
     private CollectionUtils() {}
 
     /**
@@ -51,6 +62,24 @@ public final class CollectionUtils {
                 ));
     }
 
+    /**
+     * Same as {@link #toMap}, on a parallel stream above {@link #PARALLEL_THRESHOLD}. Partial maps are merged
+     * left to right, so duplicate keys still keep the latest value. {@code keyMapper} must be thread-safe.
+     */
+    public static <T, K> Map<K, T> toMapParallel(List<T> list, Function<T, K> keyMapper) {
+        return toMapParallel(list, keyMapper, PARALLEL_THRESHOLD);
+    }
+
+    public static <T, K> Map<K, T> toMapParallel(List<T> list, Function<T, K> keyMapper, int threshold) {
+        if (isEmpty(list) || list.size() < threshold) return toMap(list, keyMapper);
+        return list.parallelStream()
+                .collect(Collectors.toMap(
+                        keyMapper,
+                        v -> v,
+                        (a, b) -> b
+                ));
+    }
+
     /**
      * Removes null elements from the list.
      */
@@ -59,6 +88,18 @@ public final class CollectionUtils {
         return list.stream().filter(Objects::nonNull).toList();
     }
 
+    /**
+     * Same as {@link #removeNulls}, on a parallel stream above {@link #PARALLEL_THRESHOLD}; order is kept.
+     */
+    public static <T> List<T> removeNullsParallel(List<T> list) {
+        return removeNullsParallel(list, PARALLEL_THRESHOLD);
+    }
+
+    public static <T> List<T> removeNullsParallel(List<T> list, int threshold) {
+        if (list == null || list.size() < threshold) return removeNulls(list);
+        return list.parallelStream().filter(Objects::nonNull).toList();
+    }
+
     /**
      * Returns a new list with unique elements (preserving order).
      */
@@ -67,6 +108,98 @@ public final class CollectionUtils {
         return list.stream().distinct().toList();
     }
 
+    /**
+     * Same as {@link #distinct(List)}, on a parallel stream above {@link #PARALLEL_THRESHOLD}; the first
+     * occurrence of each element is kept, in order.
+     */
+    public static <T> List<T> distinctParallel(List<T> list) {
+        return distinctParallel(list, PARALLEL_THRESHOLD);
+    }
+
+    public static <T> List<T> distinctParallel(List<T> list, int threshold) {
+        if (isEmpty(list) || list.size() < threshold) return distinct(list);
+        return list.parallelStream().distinct().toList();
+    }
+
+    /**
+     * Unique values in first-occurrence order, without boxing.
+     */
+    public static long[] distinct(long[] values) {
+        if (values == null) return new long[0];
+        LongHashSet seen = new LongHashSet(values.length);
+        long[] result = new long[values.length];
+        int k = 0;
+        for (long v : values) {
+            if (seen.add(v)) result[k++] = v;
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    public static int[] distinct(int[] values) {
+        if (values == null) return new int[0];
+        LongHashSet seen = new LongHashSet(values.length);
+        int[] result = new int[values.length];
+        int k = 0;
+        for (int v : values) {
+            if (seen.add(v)) result[k++] = v;
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    /**
+     * Lazily groups a stream into chunks of {@code size} (the last one possibly shorter). A chunk is emitted
+     * as soon as it fills, so the source is never held in memory as a whole; each chunk is a new list the
+     * consumer may keep, e.g. to hand to an executor. The result is sequential; closing it closes the source.
+     */
+    public static <T> Stream<List<T>> batches(Stream<T> source, int size) {
+        if (size <= 0) throw new IllegalArgumentException("Batch size must be > 0: " + size);
+        if (source == null) return Stream.empty();
+
+        Spliterator<T> items = source.spliterator();
+        long estimate = items.estimateSize();
+        Spliterator<List<T>> chunks = new Spliterators.AbstractSpliterator<>(
+                estimate == Long.MAX_VALUE ? Long.MAX_VALUE : (estimate + size - 1) / size,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super List<T>> action) {
+                List<T> chunk = new ArrayList<>(Math.min(size, 4096));
+                while (chunk.size() < size && items.tryAdvance(chunk::add)) {
+                    // fill
+                }
+                if (chunk.isEmpty()) return false;
+                action.accept(chunk);
+                return true;
+            }
+        };
+        return StreamSupport.stream(chunks, false).onClose(source::close);
+    }
+
+    /**
+     * Collector into chunks of {@code size} in encounter order, the last one possibly shorter. Also correct
+     * on parallel streams: partial results are re-chunked when combined.
+     */
+    public static <T> Collector<T, ?, List<List<T>>> batching(int size) {
+        if (size <= 0) throw new IllegalArgumentException("Batch size must be > 0: " + size);
+        return Collector.<T, List<List<T>>>of(
+                ArrayList::new,
+                (chunks, item) -> addToChunks(chunks, item, size),
+                (left, right) -> {
+                    for (List<T> chunk : right) {
+                        for (T item : chunk) addToChunks(left, item, size);
+                    }
+                    return left;
+                });
+    }
+
+    private static <T> void addToChunks(List<List<T>> chunks, T item, int size) {
+        List<T> last = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (last == null || last.size() == size) {
+            last = new ArrayList<>(Math.min(size, 4096));
+            chunks.add(last);
+        }
+        last.add(item);
+    }
+
     /**
      * Safe get element from list. Returns defaultValue if out of range.
      */
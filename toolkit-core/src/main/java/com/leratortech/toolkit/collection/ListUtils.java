@@ -16,17 +16,47 @@ public final class ListUtils {
     public static <T> List<T> distinctBy(List<T> list, java.util.function.Function<T, ?> keyExtractor) {
         if (list == null) return List.of();
 
-        var set = new HashSet<>();
-        return list.stream()
-                .filter(e -> set.add(keyExtractor.apply(e)))
-                .toList();
+        var seen = new HashSet<>();
+        var result = new ArrayList<T>();
+        for (T e : list) {
+            if (seen.add(keyExtractor.apply(e))) result.add(e);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Same as {@link #distinctBy}, on a parallel stream above {@link CollectionUtils#PARALLEL_THRESHOLD}.
+     * Each chunk keeps its first element per key in a LinkedHashMap and chunks are merged left to right,
+     * so the result is the same first-occurrence order. {@code keyExtractor} must be thread-safe.
+     */
+    public static <T> List<T> distinctByParallel(List<T> list, java.util.function.Function<T, ?> keyExtractor) {
+        return distinctByParallel(list, keyExtractor, CollectionUtils.PARALLEL_THRESHOLD);
+    }
+
+    public static <T> List<T> distinctByParallel(List<T> list, java.util.function.Function<T, ?> keyExtractor, int threshold) {
+        if (list == null || list.size() < threshold) return distinctBy(list, keyExtractor);
+
+        Map<Object, T> firsts = list.parallelStream().collect(Collector.of(
+                LinkedHashMap::new,
+                (Map<Object, T> m, T e) -> {
+                    Object key = keyExtractor.apply(e);
+                    if (!m.containsKey(key)) m.put(key, e);
+                },
+                (left, right) -> {
+                    right.forEach((key, e) -> {
+                        if (!left.containsKey(key)) left.put(key, e);
+                    });
+                    return left;
+                }));
+        return Collections.unmodifiableList(new ArrayList<>(firsts.values()));
     }
 
     public static <T> List<T> diff(List<T> a, Collection<T> b) {
-        return a == null
-                ? List.of()
-                : a.stream()
-                .filter(x -> b == null || !b.contains(x))
+        if (a == null) return List.of();
+        // contains() on a List is O(m); hash it once unless it is tiny
+        Collection<T> lookup = b == null || b instanceof Set || b.size() <= 8 ? b : new HashSet<>(b);
+        return a.stream()
+                .filter(x -> lookup == null || !lookup.contains(x))
                 .toList();
     }
 
@@ -35,4 +65,112 @@ public final class ListUtils {
         var set = new HashSet<>(b);
         return a.stream().filter(set::contains).toList();
     }
+
+    // -----------------------------
+    // Partition / windows: lazy views over the source, nothing is copied. They follow the source list,
+    // so do not structurally modify it while using them. Prefer RandomAccess sources (subList.get on a
+    // LinkedList walks from the start).
+    // -----------------------------
+
+    /**
+     * Consecutive chunks of {@code size} elements, the last one possibly shorter, e.g. for DB batch
+     * inserts: {@code for (List<Row> batch : partition(rows, 500)) insert(batch);}
+     */
+    public static <T> List<List<T>> partition(List<T> list, int size) {
+        if (size <= 0) throw new IllegalArgumentException("Partition size must be > 0: " + size);
+        if (list == null || list.isEmpty()) return List.of();
+        return new Windows<>(list, size, size, true);
+    }
+
+    /** Full windows of {@code size} elements, one per start position; none if the list is shorter */
+    public static <T> List<List<T>> sliding(List<T> list, int size) {
+        return sliding(list, size, 1);
+    }
+
+    /** Full windows of {@code size} elements starting every {@code step} elements */
+    public static <T> List<List<T>> sliding(List<T> list, int size, int step) {
+        if (size <= 0 || step <= 0) throw new IllegalArgumentException("Window size and step must be > 0: " + size + ", " + step);
+        if (list == null || list.size() < size) return List.of();
+        return new Windows<>(list, size, step, false);
+    }
+
+    /** Window {@code i} is {@code source.subList(i * step, i * step + size)}, cut at the end if {@code partial} */
+    private static final class Windows<T> extends AbstractList<List<T>> implements RandomAccess {
+        private final List<T> source;
+        private final int size;
+        private final int step;
+        private final boolean partial;
+
+        Windows(List<T> source, int size, int step, boolean partial) {
+            this.source = source;
+            this.size = size;
+            this.step = step;
+            this.partial = partial;
+        }
+
+        @Override
+        public List<T> get(int index) {
+            Objects.checkIndex(index, size());
+            int from = index * step;
+            return source.subList(from, (int) Math.min((long) from + size, source.size()));
+        }
+
+        @Override
+        public int size() {
+            int n = source.size();
+            if (partial) return (int) (((long) n + step - 1) / step);
+            return n < size ? 0 : (n - size) / step + 1;
+        }
+    }
+
+    // -----------------------------
+    // Primitive variants (no boxing): order and duplicates of {@code a} are kept, like the List versions.
+    // Already sorted inputs are merged (see SortedArrays), anything else goes through a LongHashSet.
+    // -----------------------------
+
+    public static long[] diff(long[] a, long[] b) {
+        if (a == null) return new long[0];
+        if (b == null || b.length == 0) return a.clone();
+        if (SortedArrays.isSorted(a) && SortedArrays.isSorted(b)) return SortedArrays.retain(a, b, false, false);
+        return filter(a, LongHashSet.of(b), false);
+    }
+
+    public static int[] diff(int[] a, int[] b) {
+        if (a == null) return new int[0];
+        if (b == null || b.length == 0) return a.clone();
+        if (SortedArrays.isSorted(a) && SortedArrays.isSorted(b)) return SortedArrays.retain(a, b, false, false);
+        return filter(a, LongHashSet.of(b), false);
+    }
+
+    public static long[] intersection(long[] a, long[] b) {
+        if (a == null || b == null) return new long[0];
+        if (SortedArrays.isSorted(a) && SortedArrays.isSorted(b)) return SortedArrays.retain(a, b, true, false);
+        // hash the smaller side
+        return filter(a, b.length > a.length ? LongHashSet.intersection(a, b) : LongHashSet.of(b), true);
+    }
+
+    public static int[] intersection(int[] a, int[] b) {
+        if (a == null || b == null) return new int[0];
+        if (SortedArrays.isSorted(a) && SortedArrays.isSorted(b)) return SortedArrays.retain(a, b, true, false);
+        // hash the smaller side
+        return filter(a, b.length > a.length ? LongHashSet.intersection(a, b) : LongHashSet.of(b), true);
+    }
+
+    private static long[] filter(long[] a, LongHashSet set, boolean keepContained) {
+        long[] result = new long[a.length];
+        int k = 0;
+        for (long v : a) {
+            if (set.contains(v) == keepContained) result[k++] = v;
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    private static int[] filter(int[] a, LongHashSet set, boolean keepContained) {
+        int[] result = new int[a.length];
+        int k = 0;
+        for (int v : a) {
+            if (set.contains(v) == keepContained) result[k++] = v;
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
 }
@@ -0,0 +1,177 @@
+package com.leratortech.toolkit.collection;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing set of primitive {@code long}s: one {@code long[]} table with linear probing, no boxing
+ * and no per-entry objects. Also used for {@code int} data (values are widened).
+ * <p>
+ * 0 marks a free slot, so the value 0 itself is tracked by a flag. Removal shifts the following entries
+ * back instead of leaving tombstones. Load factor is at most 1/2. Not thread-safe.
+ */
+public final class LongHashSet {
+
+    private long[] table;
+    private int mask;
+    private int shift;
+    private int size;
+    private boolean hasZero;
+
+    public LongHashSet() {
+        this(PrimitiveHashing.MIN_CAPACITY);
+    }
+
+    /** Sized so that {@code expectedSize} values fit without rehashing */
+    public LongHashSet(int expectedSize) {
+        allocate(PrimitiveHashing.tableSizeFor(expectedSize));
+    }
+
+    public static LongHashSet of(long... values) {
+        LongHashSet set = new LongHashSet(values == null ? 0 : values.length);
+        if (values != null) for (long v : values) set.add(v);
+        return set;
+    }
+
+    public static LongHashSet of(int... values) {
+        LongHashSet set = new LongHashSet(values == null ? 0 : values.length);
+        if (values != null) for (int v : values) set.add(v);
+        return set;
+    }
+
+    /**
+     * Values of {@code small} that also occur in {@code other}, hashing only {@code small}: a cache-friendly
+     * lookup set when {@code other} is much larger.
+     */
+    static LongHashSet intersection(long[] small, long[] other) {
+        LongHashSet candidates = of(small);
+        LongHashSet hits = new LongHashSet(candidates.size());
+        for (long v : other) {
+            if (candidates.contains(v)) hits.add(v);
+        }
+        return hits;
+    }
+
+    static LongHashSet intersection(int[] small, int[] other) {
+        LongHashSet candidates = of(small);
+        LongHashSet hits = new LongHashSet(candidates.size());
+        for (int v : other) {
+            if (candidates.contains(v)) hits.add(v);
+        }
+        return hits;
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        mask = capacity - 1;
+        shift = PrimitiveHashing.shiftFor(capacity);
+    }
+
+    private int slot(long value) {
+        return PrimitiveHashing.slot(value, shift);
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public boolean contains(long value) {
+        if (value == 0) return hasZero;
+        long[] t = table;
+        for (int i = slot(value); ; i = (i + 1) & mask) {
+            long v = t[i];
+            if (v == value) return true;
+            if (v == 0) return false;
+        }
+    }
+
+    /** @return true if the value was not present */
+    public boolean add(long value) {
+        if (value == 0) {
+            if (hasZero) return false;
+            hasZero = true;
+            size++;
+            return true;
+        }
+        long[] t = table;
+        int i = slot(value);
+        for (long v; (v = t[i]) != 0; i = (i + 1) & mask) {
+            if (v == value) return false;
+        }
+        PrimitiveHashing.checkCapacity(size);
+        t[i] = value;
+        if (++size > (mask + 1) >>> 1) rehash(table.length << 1);
+        return true;
+    }
+
+    /** @return true if the value was present */
+    public boolean remove(long value) {
+        if (value == 0) {
+            if (!hasZero) return false;
+            hasZero = false;
+            size--;
+            return true;
+        }
+        long[] t = table;
+        int i = slot(value);
+        for (long v; (v = t[i]) != value; i = (i + 1) & mask) {
+            if (v == 0) return false;
+        }
+        // backward shift: move later entries of the probe run into the hole when their home slot allows it
+        for (int j = (i + 1) & mask; ; j = (j + 1) & mask) {
+            long v = t[j];
+            if (v == 0) break;
+            int home = slot(v);
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                t[i] = v;
+                i = j;
+            }
+        }
+        t[i] = 0;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        hasZero = false;
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = table;
+        allocate(capacity);
+        for (long v : old) {
+            if (v == 0) continue;
+            int i = slot(v);
+            while (table[i] != 0) i = (i + 1) & mask;
+            table[i] = v;
+        }
+    }
+
+    /** Visits every value once, in no particular order */
+    public void forEach(LongConsumer consumer) {
+        if (hasZero) consumer.accept(0);
+        for (long v : table) {
+            if (v != 0) consumer.accept(v);
+        }
+    }
+
+    /** Values in no particular order */
+    public long[] toArray() {
+        long[] result = new long[size];
+        int k = 0;
+        if (hasZero) result[k++] = 0;
+        for (long v : table) {
+            if (v != 0) result[k++] = v;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        long[] values = toArray();
+        Arrays.sort(values);
+        return Arrays.toString(values);
+    }
+}
@@ -0,0 +1,183 @@
+package com.leratortech.toolkit.collection;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from primitive {@code long} keys to {@code long} values: two parallel {@code long[]}
+ * tables with linear probing, no boxing and no per-entry objects. Same table rules as {@link LongHashSet}
+ * (key 0 kept aside, backward-shift removal, at most half full). Lookups take the value to return for a
+ * missing key. Not thread-safe.
+ */
+public final class LongLongMap {
+
+    /** Entry visitor, so iteration needs no boxing or entry objects */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int shift;
+    private int size;
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongMap() {
+        this(PrimitiveHashing.MIN_CAPACITY);
+    }
+
+    /** Sized so that {@code expectedSize} entries fit without rehashing */
+    public LongLongMap(int expectedSize) {
+        allocate(PrimitiveHashing.tableSizeFor(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        shift = PrimitiveHashing.shiftFor(capacity);
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    /** Slot of the key, or -1 */
+    private int find(long key) {
+        long[] k = keys;
+        for (int i = PrimitiveHashing.slot(key, shift); ; i = (i + 1) & mask) {
+            long v = k[i];
+            if (v == key) return i;
+            if (v == 0) return -1;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZeroKey : find(key) >= 0;
+    }
+
+    public long get(long key, long missingValue) {
+        if (key == 0) return hasZeroKey ? zeroValue : missingValue;
+        int i = find(key);
+        return i < 0 ? missingValue : values[i];
+    }
+
+    public void put(long key, long value) {
+        if (key == 0) {
+            zeroValue = value;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            return;
+        }
+        int i = insertionSlot(key);
+        if (keys[i] == key) {
+            values[i] = value;
+            return;
+        }
+        PrimitiveHashing.checkCapacity(size);
+        keys[i] = key;
+        values[i] = value;
+        if (++size > (mask + 1) >>> 1) rehash(keys.length << 1);
+    }
+
+    /** Adds {@code delta} to the value (a missing key counts as 0) and returns the new value */
+    public long addTo(long key, long delta) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            return zeroValue += delta;
+        }
+        int i = insertionSlot(key);
+        if (keys[i] == key) return values[i] += delta;
+        PrimitiveHashing.checkCapacity(size);
+        keys[i] = key;
+        values[i] = delta;
+        if (++size > (mask + 1) >>> 1) rehash(keys.length << 1);
+        return delta;
+    }
+
+    /** Slot holding the key, or the free slot where it would go */
+    private int insertionSlot(long key) {
+        long[] k = keys;
+        int i = PrimitiveHashing.slot(key, shift);
+        while (k[i] != 0 && k[i] != key) i = (i + 1) & mask;
+        return i;
+    }
+
+    /** @return true if the key was present */
+    public boolean remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) return false;
+            hasZeroKey = false;
+            zeroValue = 0;
+            size--;
+            return true;
+        }
+        int i = find(key);
+        if (i < 0) return false;
+        long[] k = keys;
+        // backward shift, see LongHashSet#remove
+        for (int j = (i + 1) & mask; ; j = (j + 1) & mask) {
+            long v = k[j];
+            if (v == 0) break;
+            int home = PrimitiveHashing.slot(v, shift);
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                k[i] = v;
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        k[i] = 0;
+        values[i] = 0;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, 0);
+        hasZeroKey = false;
+        zeroValue = 0;
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key == 0) continue;
+            int i = PrimitiveHashing.slot(key, shift);
+            while (keys[i] != 0) i = (i + 1) & mask;
+            keys[i] = key;
+            values[i] = oldValues[j];
+        }
+    }
+
+    /** Visits every entry once, in no particular order */
+    public void forEach(EntryConsumer consumer) {
+        if (hasZeroKey) consumer.accept(0, zeroValue);
+        long[] k = keys;
+        for (int i = 0; i < k.length; i++) {
+            if (k[i] != 0) consumer.accept(k[i], values[i]);
+        }
+    }
+
+    /** Keys in no particular order */
+    public long[] keys() {
+        long[] result = new long[size];
+        int n = 0;
+        if (hasZeroKey) result[n++] = 0;
+        for (long key : keys) {
+            if (key != 0) result[n++] = key;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,190 @@
+package com.leratortech.toolkit.collection;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * Open-addressing map from primitive {@code long} keys to objects: parallel {@code long[]} / {@code Object[]}
+ * tables with linear probing, no boxed keys and no per-entry objects. Same table rules as
+ * {@link LongHashSet} (key 0 kept aside, backward-shift removal, at most half full). Null values are
+ * allowed; {@link #get} cannot tell them from a missing key, {@link #containsKey} can. Not thread-safe.
+ */
+public final class LongObjectMap<V> {
+
+    /** Entry visitor, so iteration needs no boxing or entry objects */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int shift;
+    private int size;
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    public LongObjectMap() {
+        this(PrimitiveHashing.MIN_CAPACITY);
+    }
+
+    /** Sized so that {@code expectedSize} entries fit without rehashing */
+    public LongObjectMap(int expectedSize) {
+        allocate(PrimitiveHashing.tableSizeFor(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        shift = PrimitiveHashing.shiftFor(capacity);
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    /** Slot of the key, or -1 */
+    private int find(long key) {
+        long[] k = keys;
+        for (int i = PrimitiveHashing.slot(key, shift); ; i = (i + 1) & mask) {
+            long v = k[i];
+            if (v == key) return i;
+            if (v == 0) return -1;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZeroKey : find(key) >= 0;
+    }
+
+    public V get(long key) {
+        return getOrDefault(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(long key, V defaultValue) {
+        if (key == 0) return hasZeroKey ? zeroValue : defaultValue;
+        int i = find(key);
+        return i < 0 ? defaultValue : (V) values[i];
+    }
+
+    /** @return the previous value, or null */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == 0) {
+            V previous = zeroValue;
+            zeroValue = value;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            return previous;
+        }
+        long[] k = keys;
+        int i = PrimitiveHashing.slot(key, shift);
+        for (long v; (v = k[i]) != 0; i = (i + 1) & mask) {
+            if (v == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        PrimitiveHashing.checkCapacity(size);
+        k[i] = key;
+        values[i] = value;
+        if (++size > (mask + 1) >>> 1) rehash(keys.length << 1);
+        return null;
+    }
+
+    /** @return the existing value, or null after inserting {@code value} */
+    public V putIfAbsent(long key, V value) {
+        if (containsKey(key)) return get(key);
+        put(key, value);
+        return null;
+    }
+
+    /** Existing value, or the one computed and inserted for a missing key */
+    public V computeIfAbsent(long key, LongFunction<? extends V> mapping) {
+        if (containsKey(key)) return get(key);
+        V value = mapping.apply(key);
+        put(key, value);
+        return value;
+    }
+
+    /** @return the removed value, or null */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) return null;
+            V previous = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            return previous;
+        }
+        int i = find(key);
+        if (i < 0) return null;
+        V previous = (V) values[i];
+        long[] k = keys;
+        // backward shift, see LongHashSet#remove
+        for (int j = (i + 1) & mask; ; j = (j + 1) & mask) {
+            long v = k[j];
+            if (v == 0) break;
+            int home = PrimitiveHashing.slot(v, shift);
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                k[i] = v;
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        k[i] = 0;
+        values[i] = null;
+        size--;
+        return previous;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key == 0) continue;
+            int i = PrimitiveHashing.slot(key, shift);
+            while (keys[i] != 0) i = (i + 1) & mask;
+            keys[i] = key;
+            values[i] = oldValues[j];
+        }
+    }
+
+    /** Visits every entry once, in no particular order */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> consumer) {
+        if (hasZeroKey) consumer.accept(0, zeroValue);
+        long[] k = keys;
+        for (int i = 0; i < k.length; i++) {
+            if (k[i] != 0) consumer.accept(k[i], (V) values[i]);
+        }
+    }
+
+    /** Keys in no particular order */
+    public long[] keys() {
+        long[] result = new long[size];
+        int n = 0;
+        if (hasZeroKey) result[n++] = 0;
+        for (long key : keys) {
+            if (key != 0) result[n++] = key;
+        }
+        return result;
+    }
+}
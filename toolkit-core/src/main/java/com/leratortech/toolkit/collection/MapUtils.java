@@ -1,37 +1,241 @@
 package com.leratortech.toolkit.collection;
 
 import java.util.*;
-import java.util.stream.*;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
 
+/**
+ * Map helpers. merge / invert / filter iterate {@code entrySet} directly into the target; merge and invert
+ * presize it from the source sizes, filter does not (the match count is unknown, and presizing to the
+ * source would over-allocate selective filters). Overloads take a merge function and a target factory
+ * ({@code IntFunction} receiving the source size, e.g. {@code MapUtils::newHashMap},
+ * {@code n -> new TreeMap<>()}). {@link EnumMap} sources stay {@link EnumMap}s (array-backed, no hashing).
+ */
 public final class MapUtils {
 
     private MapUtils() {}
 
+    /** HashMap that holds {@code expectedSize} entries without rehashing */
+    public static <K, V> HashMap<K, V> newHashMap(int expectedSize) {
+        return new HashMap<>(capacity(expectedSize));
+    }
+
+    /** LinkedHashMap that holds {@code expectedSize} entries without rehashing */
+    public static <K, V> LinkedHashMap<K, V> newLinkedHashMap(int expectedSize) {
+        return new LinkedHashMap<>(capacity(expectedSize));
+    }
+
+    static int capacity(int expectedSize) {
+        return expectedSize < 3 ? 4 : (int) (expectedSize / 0.75f) + 1;
+    }
+
+    // -----------------------------
+    // Filter
+    // -----------------------------
+
+    /** Entries matching the condition; an {@link EnumMap} source gives an {@link EnumMap} */
     public static <K, V> Map<K, V> filter(Map<K, V> map, java.util.function.Predicate<Map.Entry<K, V>> condition) {
         if (map == null) return Map.of();
 
-        return map.entrySet()
-                .stream()
+        if (map instanceof EnumMap<?, ?>) {
+            // array copy of the source, then clear the misses in place
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Map<K, V> result = new EnumMap((EnumMap) map);
+            result.entrySet().removeIf(condition.negate());
+            return result;
+        }
+        return filter(map, condition, n -> new HashMap<>());
+    }
+
+    public static <K, V, M extends Map<K, V>> M filter(Map<K, V> map, java.util.function.Predicate<Map.Entry<K, V>> condition,
+                                                       IntFunction<M> mapFactory) {
+        M result = mapFactory.apply(map == null ? 0 : map.size());
+        if (map == null) return result;
+        for (Map.Entry<K, V> e : map.entrySet()) {
+            if (condition.test(e)) result.put(e.getKey(), e.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #filter} (null values kept, {@link EnumMap} sources give an {@link EnumMap}), with the
+     * condition tested on a parallel stream above {@link CollectionUtils#PARALLEL_THRESHOLD}.
+     * {@code condition} must be thread-safe.
+     */
+    public static <K, V> Map<K, V> filterParallel(Map<K, V> map, java.util.function.Predicate<Map.Entry<K, V>> condition) {
+        return filterParallel(map, condition, CollectionUtils.PARALLEL_THRESHOLD);
+    }
+
+    public static <K, V> Map<K, V> filterParallel(Map<K, V> map, java.util.function.Predicate<Map.Entry<K, V>> condition, int threshold) {
+        if (map == null || map.size() < threshold) return filter(map, condition);
+
+        // the predicate runs in parallel; the matches are copied sequentially, so null values are fine
+        List<Map.Entry<K, V>> matches = map.entrySet()
+                .parallelStream()
                 .filter(condition)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                .toList();
+        Map<K, V> result;
+        if (map instanceof EnumMap<?, ?>) {
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Map<K, V> empty = new EnumMap((EnumMap) map);
+            empty.clear();
+            result = empty;
+        } else {
+            result = newHashMap(matches.size());
+        }
+        for (Map.Entry<K, V> e : matches) result.put(e.getKey(), e.getValue());
+        return result;
     }
 
+    // -----------------------------
+    // Merge
+    // -----------------------------
+
+    /**
+     * Later maps win on duplicate keys, null values included (as {@link Map#putAll}). The result is presized
+     * from the source sizes; if the first non-null source is an {@link EnumMap} the result is an
+     * {@link EnumMap} too.
+     */
+    @SafeVarargs
     public static <K, V> Map<K, V> merge(Map<K, V>... maps) {
-        return Arrays.stream(maps)
-                .filter(Objects::nonNull)
-                .flatMap(m -> m.entrySet().stream())
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (oldV, newV) -> newV
-                ));
+        if (maps == null) return new HashMap<>();
+        return mergeAll(Arrays.asList(maps), null);
+    }
+
+    /**
+     * Same as {@link #merge(Map[])} with {@code mergeFunction(old, new)} resolving duplicate keys; a null
+     * result removes the key, as in {@link Map#merge}.
+     */
+    public static <K, V> Map<K, V> merge(Collection<? extends Map<? extends K, ? extends V>> maps, BinaryOperator<V> mergeFunction) {
+        return mergeAll(maps, Objects.requireNonNull(mergeFunction, "mergeFunction"));
+    }
+
+    /** A null {@code mergeFunction} means plain puts: later wins, null values kept */
+    private static <K, V> Map<K, V> mergeAll(Collection<? extends Map<? extends K, ? extends V>> maps, BinaryOperator<V> mergeFunction) {
+        if (maps == null) return new HashMap<>();
+        Map<? extends K, ? extends V> first = null;
+        for (Map<? extends K, ? extends V> m : maps) {
+            if (m != null) {
+                first = m;
+                break;
+            }
+        }
+        if (first instanceof EnumMap<?, ?>) {
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Map<K, V> result = new EnumMap((EnumMap) first);
+            boolean skipped = false;
+            for (Map<? extends K, ? extends V> m : maps) {
+                if (m == first && !skipped) {
+                    skipped = true;
+                    continue;
+                }
+                mergeInto(result, m, mergeFunction);
+            }
+            return result;
+        }
+        Map<K, V> result = newHashMap(totalSize(maps));
+        for (Map<? extends K, ? extends V> m : maps) mergeInto(result, m, mergeFunction);
+        return result;
+    }
+
+    private static int totalSize(Collection<? extends Map<?, ?>> maps) {
+        int size = 0;
+        if (maps != null) {
+            for (Map<?, ?> m : maps) {
+                if (m != null) size += m.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Merges into a map from {@code mapFactory}, which receives the summed source sizes for presizing.
+     * {@code mergeFunction(old, new)} resolves duplicate keys; a null result removes the key, as in
+     * {@link Map#merge}.
+     */
+    public static <K, V, M extends Map<K, V>> M merge(Collection<? extends Map<? extends K, ? extends V>> maps,
+                                                      BinaryOperator<V> mergeFunction, IntFunction<M> mapFactory) {
+        Objects.requireNonNull(mergeFunction, "mergeFunction");
+        M result = mapFactory.apply(totalSize(maps));
+        if (maps == null) return result;
+        for (Map<? extends K, ? extends V> m : maps) mergeInto(result, m, mergeFunction);
+        return result;
+    }
+
+    /**
+     * Immutable merge (later maps win; no null keys or values). A single non-empty source that is already
+     * immutable ({@link Map#of} / {@link Map#copyOf}) is returned as is, without copying.
+     */
+    @SafeVarargs
+    public static <K, V> Map<K, V> mergeToImmutable(Map<K, V>... maps) {
+        if (maps == null) return Map.of();
+        Map<K, V> only = null;
+        int nonEmpty = 0;
+        for (Map<K, V> m : maps) {
+            if (m != null && !m.isEmpty()) {
+                only = m;
+                nonEmpty++;
+            }
+        }
+        if (nonEmpty == 0) return Map.of();
+        // Map.copyOf returns immutable maps unchanged and copies anything else once
+        if (nonEmpty == 1) return Map.copyOf(only);
+        return Map.copyOf(merge(maps));
+    }
+
+    private static <K, V> void mergeInto(Map<K, V> target, Map<? extends K, ? extends V> source, BinaryOperator<V> mergeFunction) {
+        if (source == null) return;
+        if (target.isEmpty() || mergeFunction == null) {
+            target.putAll(source);
+            return;
+        }
+        for (Map.Entry<? extends K, ? extends V> e : source.entrySet()) {
+            K key = e.getKey();
+            V value = e.getValue();
+            V old = target.get(key);
+            if (old == null && !target.containsKey(key)) {
+                target.put(key, value);
+            } else {
+                V merged = mergeFunction.apply(old, value);
+                if (merged == null) target.remove(key);
+                else target.put(key, merged);
+            }
+        }
     }
 
+    // -----------------------------
+    // Invert
+    // -----------------------------
+
+    /**
+     * Value → key map.
+     *
+     * @throws IllegalStateException if two keys share a value; use {@link #invert(Map, BinaryOperator)} to
+     *                               resolve those
+     */
     public static <K, V> Map<V, K> invert(Map<K, V> map) {
-        return map == null
-                ? Map.of()
-                : map.entrySet()
-                .stream()
-                .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+        return invert(map, (k1, k2) -> {
+            throw new IllegalStateException("Duplicate value for keys " + k1 + " and " + k2);
+        });
+    }
+
+    /** Value → key map; {@code mergeFunction(earlierKey, laterKey)} picks the key for a shared value */
+    public static <K, V> Map<V, K> invert(Map<K, V> map, BinaryOperator<K> mergeFunction) {
+        return invert(map, mergeFunction, MapUtils::newHashMap);
+    }
+
+    public static <K, V, M extends Map<V, K>> M invert(Map<K, V> map, BinaryOperator<K> mergeFunction, IntFunction<M> mapFactory) {
+        M result = mapFactory.apply(map == null ? 0 : map.size());
+        if (map == null) return result;
+        for (Map.Entry<K, V> e : map.entrySet()) {
+            V value = e.getValue();
+            K previous = result.get(value);
+            if (previous == null && !result.containsKey(value)) {
+                result.put(value, e.getKey());
+            } else {
+                result.put(value, mergeFunction.apply(previous, e.getKey()));
+            }
+        }
+        return result;
     }
 }
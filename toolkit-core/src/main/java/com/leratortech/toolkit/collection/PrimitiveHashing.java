@@ -0,0 +1,43 @@
+package com.leratortech.toolkit.collection;
+
+/**
+ * Table sizing and slot hashing shared by the open-addressing primitive collections
+ * ({@link LongHashSet}, {@link LongObjectMap}, {@link LongLongMap}, {@link IntIntMap}).
+ */
+final class PrimitiveHashing {
+
+    static final int MIN_CAPACITY = 16;
+    static final int MAX_CAPACITY = 1 << 30;
+    /** Most entries a table can hold: {@link #MAX_CAPACITY} kept at most half full */
+    static final int MAX_SIZE = MAX_CAPACITY >>> 1;
+
+    private PrimitiveHashing() {}
+
+    /** Power-of-two table length keeping {@code expectedSize} entries at most half full */
+    static int tableSizeFor(int expectedSize) {
+        long needed = Math.max(MIN_CAPACITY, expectedSize * 2L);
+        if (needed > MAX_CAPACITY) return MAX_CAPACITY;
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    /** Called before inserting a new key, so a full collection throws instead of overflowing the table size */
+    static void checkCapacity(int size) {
+        if (size >= MAX_SIZE) throw new IllegalStateException("capacity exceeded: at most " + MAX_SIZE + " entries");
+    }
+
+    /** Right shift that turns a 64-bit product into a slot of a table of {@code capacity} */
+    static int shiftFor(int capacity) {
+        return 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /**
+     * Keys are hashed in blocks of 8 consecutive values: the block is spread over the table by Fibonacci
+     * hashing (high bits of the product), the low 3 bits pick the slot inside it. Dense, sequential ids then
+     * stay 8 to a 64-byte {@code long[]} line instead of one cache miss per key, while strided keys
+     * (multiples of 8, 1024, ...) still land in random blocks and just probe into the block's free slots.
+     * Needs a capacity of at least 16.
+     */
+    static int slot(long key, int shift) {
+        return (int) (((key >>> 3) * 0x9E3779B97F4A7C15L) >>> (shift + 3)) << 3 | (int) (key & 7);
+    }
+}
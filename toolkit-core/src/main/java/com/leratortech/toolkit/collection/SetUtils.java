@@ -8,16 +8,17 @@ public final class SetUtils {
     private SetUtils() {}
 
     public static <T> Set<T> union(Set<T> a, Set<T> b) {
-        return Stream.of(a, b)
-                .filter(Objects::nonNull)
-                .flatMap(Set::stream)
-                .collect(Collectors.toSet());
+        int size = (a == null ? 0 : a.size()) + (b == null ? 0 : b.size());
+        Set<T> result = new HashSet<>((int) (size / 0.75f) + 1);
+        if (a != null) result.addAll(a);
+        if (b != null) result.addAll(b);
+        return result;
     }
 
     public static <T> Set<T> intersect(Set<T> a, Set<T> b) {
         if (a == null || b == null) return Set.of();
-        var set = new HashSet<>(b);
-        return a.stream().filter(set::contains).collect(Collectors.toSet());
+        // b is already a set: probe it directly, no copy
+        return a.stream().filter(b::contains).collect(Collectors.toSet());
     }
 
     public static <T> Set<T> difference(Set<T> a, Set<T> b) {
@@ -26,4 +27,84 @@ public final class SetUtils {
                 .filter(x -> b == null || !b.contains(x))
                 .collect(Collectors.toSet());
     }
+
+    // -----------------------------
+    // Primitive variants (no boxing): results are distinct, in first-occurrence order.
+    // intersect / difference merge already sorted inputs (see SortedArrays); use SortedArrays.union
+    // for a sorted union.
+    // -----------------------------
+
+    public static long[] union(long[] a, long[] b) {
+        int na = a == null ? 0 : a.length;
+        int nb = b == null ? 0 : b.length;
+        LongHashSet seen = new LongHashSet(na + nb);
+        long[] result = new long[na + nb];
+        int k = 0;
+        for (int i = 0; i < na; i++) if (seen.add(a[i])) result[k++] = a[i];
+        for (int i = 0; i < nb; i++) if (seen.add(b[i])) result[k++] = b[i];
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    public static int[] union(int[] a, int[] b) {
+        int na = a == null ? 0 : a.length;
+        int nb = b == null ? 0 : b.length;
+        LongHashSet seen = new LongHashSet(na + nb);
+        int[] result = new int[na + nb];
+        int k = 0;
+        for (int i = 0; i < na; i++) if (seen.add(a[i])) result[k++] = a[i];
+        for (int i = 0; i < nb; i++) if (seen.add(b[i])) result[k++] = b[i];
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    public static long[] intersect(long[] a, long[] b) {
+        if (a == null || b == null) return new long[0];
+        if (SortedArrays.isSorted(a) && SortedArrays.isSorted(b)) return SortedArrays.retain(a, b, true, true);
+        // removing a hit from the set keeps the result distinct; only the smaller side is hashed
+        LongHashSet remaining = b.length > a.length ? LongHashSet.intersection(a, b) : LongHashSet.of(b);
+        long[] result = new long[Math.min(a.length, remaining.size())];
+        int k = 0;
+        for (long v : a) {
+            if (k == result.length) break;
+            if (remaining.remove(v)) result[k++] = v;
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    public static int[] intersect(int[] a, int[] b) {
+        if (a == null || b == null) return new int[0];
+        if (SortedArrays.isSorted(a) && SortedArrays.isSorted(b)) return SortedArrays.retain(a, b, true, true);
+        LongHashSet remaining = b.length > a.length ? LongHashSet.intersection(a, b) : LongHashSet.of(b);
+        int[] result = new int[Math.min(a.length, remaining.size())];
+        int k = 0;
+        for (int v : a) {
+            if (k == result.length) break;
+            if (remaining.remove(v)) result[k++] = v;
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    public static long[] difference(long[] a, long[] b) {
+        if (a == null) return new long[0];
+        if (b != null && SortedArrays.isSorted(a) && SortedArrays.isSorted(b)) return SortedArrays.retain(a, b, false, true);
+        // b's values are pre-marked as seen, so one add() both excludes them and dedups a
+        LongHashSet seen = LongHashSet.of(b);
+        long[] result = new long[a.length];
+        int k = 0;
+        for (long v : a) {
+            if (seen.add(v)) result[k++] = v;
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    public static int[] difference(int[] a, int[] b) {
+        if (a == null) return new int[0];
+        if (b != null && SortedArrays.isSorted(a) && SortedArrays.isSorted(b)) return SortedArrays.retain(a, b, false, true);
+        LongHashSet seen = LongHashSet.of(b);
+        int[] result = new int[a.length];
+        int k = 0;
+        for (int v : a) {
+            if (seen.add(v)) result[k++] = v;
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
 }
@@ -0,0 +1,209 @@
+package com.leratortech.toolkit.collection;
+
+import java.util.Arrays;
+
+/**
+ * Set algebra on sorted primitive arrays by linear merge, no hashing.
+ * <p>
+ * Public operations take any arrays: inputs that are not sorted ascending are sorted on a copy first, and
+ * results are sorted and distinct. When one input is at least {@link #GALLOP_RATIO} times larger than the
+ * other, intersection and difference gallop (exponential then binary search) through the larger one
+ * instead of stepping, so a small id list against a huge one costs O(small · log(large / small)).
+ * <p>
+ * The {@code long[]} / {@code int[]} operations of {@link ListUtils} and {@link SetUtils} switch to this
+ * engine on their own when both inputs are already sorted.
+ */
+public final class SortedArrays {
+
+    /** Size ratio from which the larger input is galloped through instead of merged */
+    public static final int GALLOP_RATIO = 32;
+
+    private SortedArrays() {}
+
+    public static boolean isSorted(long[] a) {
+        if (a == null) return true;
+        for (int i = 1; i < a.length; i++) {
+            if (a[i] < a[i - 1]) return false;
+        }
+        return true;
+    }
+
+    public static boolean isSorted(int[] a) {
+        if (a == null) return true;
+        for (int i = 1; i < a.length; i++) {
+            if (a[i] < a[i - 1]) return false;
+        }
+        return true;
+    }
+
+    /** Sorted copy without duplicates */
+    public static long[] sortedDistinct(long[] a) {
+        if (a == null) return new long[0];
+        long[] copy = a.clone();
+        Arrays.sort(copy);
+        int k = 0;
+        for (int i = 0; i < copy.length; i++) {
+            if (k == 0 || copy[i] != copy[k - 1]) copy[k++] = copy[i];
+        }
+        return k == copy.length ? copy : Arrays.copyOf(copy, k);
+    }
+
+    public static int[] sortedDistinct(int[] a) {
+        if (a == null) return new int[0];
+        int[] copy = a.clone();
+        Arrays.sort(copy);
+        int k = 0;
+        for (int i = 0; i < copy.length; i++) {
+            if (k == 0 || copy[i] != copy[k - 1]) copy[k++] = copy[i];
+        }
+        return k == copy.length ? copy : Arrays.copyOf(copy, k);
+    }
+
+    // -----------------------------
+    // long[]
+    // -----------------------------
+
+    public static long[] intersect(long[] a, long[] b) {
+        if (a == null || b == null) return new long[0];
+        long[] x = sorted(a);
+        long[] y = sorted(b);
+        // symmetric, so walk the smaller side and gallop through the larger one
+        return x.length <= y.length ? retain(x, y, true, true) : retain(y, x, true, true);
+    }
+
+    public static long[] difference(long[] a, long[] b) {
+        if (a == null) return new long[0];
+        return retain(sorted(a), b == null ? new long[0] : sorted(b), false, true);
+    }
+
+    public static long[] union(long[] a, long[] b) {
+        long[] x = a == null ? new long[0] : sorted(a);
+        long[] y = b == null ? new long[0] : sorted(b);
+        long[] result = new long[x.length + y.length];
+        int i = 0, j = 0, k = 0;
+        while (i < x.length || j < y.length) {
+            long v = j == y.length || (i < x.length && x[i] <= y[j]) ? x[i] : y[j];
+            if (k == 0 || result[k - 1] != v) result[k++] = v;
+            while (i < x.length && x[i] == v) i++;
+            while (j < y.length && y[j] == v) j++;
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    private static long[] sorted(long[] a) {
+        if (isSorted(a)) return a;
+        long[] copy = a.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    /**
+     * Values of sorted {@code a} whose presence in sorted {@code b} equals {@code contained}, in order;
+     * duplicates of {@code a} are kept unless {@code distinct}.
+     */
+    static long[] retain(long[] a, long[] b, boolean contained, boolean distinct) {
+        long[] result = new long[contained ? Math.min(a.length, distinct ? b.length : a.length) : a.length];
+        boolean gallop = b.length / GALLOP_RATIO > a.length;
+        int j = 0;
+        int k = 0;
+        for (int i = 0; i < a.length; i++) {
+            long v = a[i];
+            if (distinct && i > 0 && a[i - 1] == v) continue;
+            if (gallop) {
+                j = gallop(b, j, v);
+            } else {
+                while (j < b.length && b[j] < v) j++;
+            }
+            if ((j < b.length && b[j] == v) == contained) {
+                if (k == result.length) result = Arrays.copyOf(result, Math.max(1, k * 2));
+                result[k++] = v;
+            }
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    /** First index {@code >= from} with {@code b[index] >= v}, or {@code b.length} */
+    private static int gallop(long[] b, int from, long v) {
+        int bound = 1;
+        while (from + bound < b.length && b[from + bound - 1] < v) bound <<= 1;
+        int lo = from + (bound >>> 1); // b[lo - 1] < v was seen by the previous probe
+        int hi = Math.min(from + bound, b.length);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (b[mid] < v) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // -----------------------------
+    // int[]
+    // -----------------------------
+
+    public static int[] intersect(int[] a, int[] b) {
+        if (a == null || b == null) return new int[0];
+        int[] x = sorted(a);
+        int[] y = sorted(b);
+        return x.length <= y.length ? retain(x, y, true, true) : retain(y, x, true, true);
+    }
+
+    public static int[] difference(int[] a, int[] b) {
+        if (a == null) return new int[0];
+        return retain(sorted(a), b == null ? new int[0] : sorted(b), false, true);
+    }
+
+    public static int[] union(int[] a, int[] b) {
+        int[] x = a == null ? new int[0] : sorted(a);
+        int[] y = b == null ? new int[0] : sorted(b);
+        int[] result = new int[x.length + y.length];
+        int i = 0, j = 0, k = 0;
+        while (i < x.length || j < y.length) {
+            int v = j == y.length || (i < x.length && x[i] <= y[j]) ? x[i] : y[j];
+            if (k == 0 || result[k - 1] != v) result[k++] = v;
+            while (i < x.length && x[i] == v) i++;
+            while (j < y.length && y[j] == v) j++;
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    private static int[] sorted(int[] a) {
+        if (isSorted(a)) return a;
+        int[] copy = a.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    static int[] retain(int[] a, int[] b, boolean contained, boolean distinct) {
+        int[] result = new int[contained ? Math.min(a.length, distinct ? b.length : a.length) : a.length];
+        boolean gallop = b.length / GALLOP_RATIO > a.length;
+        int j = 0;
+        int k = 0;
+        for (int i = 0; i < a.length; i++) {
+            int v = a[i];
+            if (distinct && i > 0 && a[i - 1] == v) continue;
+            if (gallop) {
+                j = gallop(b, j, v);
+            } else {
+                while (j < b.length && b[j] < v) j++;
+            }
+            if ((j < b.length && b[j] == v) == contained) {
+                if (k == result.length) result = Arrays.copyOf(result, Math.max(1, k * 2));
+                result[k++] = v;
+            }
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    private static int gallop(int[] b, int from, int v) {
+        int bound = 1;
+        while (from + bound < b.length && b[from + bound - 1] < v) bound <<= 1;
+        int lo = from + (bound >>> 1);
+        int hi = Math.min(from + bound, b.length);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (b[mid] < v) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -1,11 +1,14 @@
 package com.leratortech.toolkit.concurrency;
 
+import com.leratortech.toolkit.collection.ListUtils;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * ExecutorBuilder: xây thread pool linh hoạt, an toàn, dễ sử dụng cho production.
@@ -13,6 +16,7 @@ import java.util.function.Consumer;
  * - Fixed / Cached / Scheduled thread pool
  * - ThreadFactory đặt tên thread và xử lý uncaught exception
  * - Submit nhiều tác vụ đồng thời
+ * - Chia danh sách lớn thành batch và chạy song song trên pool
  * - Shutdown an toàn với timeout
  */
 public final class ExecutorBuilder {
@@ -80,6 +84,34 @@ public final class ExecutorBuilder {
         }
     }
 
+    /**
+     * Splits {@code items} into chunks of {@code batchSize} ({@link ListUtils#partition}, views, no copying),
+     * runs {@code task} on each chunk in the pool and returns the results in chunk order. Chunks are views
+     * of {@code items}, which must not be modified until this returns. The first failing chunk rethrows its
+     * cause (wrapped in RuntimeException if checked).
+     */
+    public static <T, R> List<R> invokeBatches(ExecutorService executor, List<T> items, int batchSize,
+                                               Function<? super List<T>, ? extends R> task) {
+        List<List<T>> batches = ListUtils.partition(items, batchSize);
+        List<Callable<R>> tasks = new ArrayList<>(batches.size());
+        for (List<T> batch : batches) tasks.add(() -> task.apply(batch));
+
+        try {
+            List<Future<R>> futures = executor.invokeAll(tasks);
+            List<R> results = new ArrayList<>(futures.size());
+            for (Future<R> future : futures) results.add(future.get());
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("invokeBatches interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new RuntimeException("Batch failed", cause);
+        }
+    }
+
     // -----------------------------
     // Shutdown helpers
     // -----------------------------
@@ -15,6 +15,10 @@ import java.util.Map;
  * - JSON ↔ List / Map
  * - Nested objects supported
  * - Null-safe
+ * - TreeNode as nested JSON (see {@link TreeJson} for options and streaming)
+ * <p>
+ * Jackson's default nesting limit (1000) is kept here: bean (de)serialization recurses, so deeper input
+ * from untrusted sources would end in StackOverflowError. Trees deeper than that go through {@link TreeJson}.
  */
 public final class JsonUtils {
 
@@ -24,10 +28,16 @@ public final class JsonUtils {
         mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
         mapper.findAndRegisterModules(); // support Java 8 date/time types
+        mapper.registerModule(new TreeJsonModule()); // TreeNode <-> nested JSON
     }
 
     private JsonUtils() {}
 
+    /** Shared, fully configured mapper (for streaming helpers in this package) */
+    static ObjectMapper mapper() {
+        return mapper;
+    }
+
     // -------------------------------------------------------------------------
     // Serialize
     // -------------------------------------------------------------------------
@@ -0,0 +1,209 @@
+package com.leratortech.toolkit.json;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.leratortech.toolkit.tree.MappedTree;
+import com.leratortech.toolkit.tree.TreeBuildResult;
+import com.leratortech.toolkit.tree.TreeBuilder;
+import com.leratortech.toolkit.tree.TreeNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Streaming tree ↔ JSON without intermediate maps
+ * <p>
+ * - nested: {@code [{...data, "children": [...]}, ...]}
+ * - flat: {@code [{...data}, ...]} in pre-order, optionally with {@code id} / {@code parentId} from the structure
+ * <p>
+ * Writers go straight to the generator with an explicit stack; OutputStream variants do not close the stream.
+ * Jackson's default nesting limit (1000) is lifted on TreeJson's own factory only (the shared
+ * {@link JsonUtils} mapper keeps it), since neither side recurses here; use {@link TreeJsonOptions#maxDepth}
+ * to bound untrusted input instead.
+ */
+public final class TreeJson {
+
+    private static final JsonFactory FACTORY = deepFactory();
+
+    private TreeJson() {}
+
+    private static JsonFactory deepFactory() {
+        ObjectMapper mapper = JsonUtils.mapper();
+        JsonFactory factory = mapper.getFactory().copy();
+        factory.setCodec(mapper);
+        factory.setStreamReadConstraints(StreamReadConstraints.builder().maxNestingDepth(Integer.MAX_VALUE).build());
+        factory.setStreamWriteConstraints(StreamWriteConstraints.builder().maxNestingDepth(Integer.MAX_VALUE).build());
+        return factory;
+    }
+
+    // -------------------------------------------------------------------------
+    // Write
+    // -------------------------------------------------------------------------
+
+    public static <T> String toJson(List<TreeNode<T>> roots, TreeJsonOptions<T> options) {
+        return toString(new Forest<>(roots, options, false));
+    }
+
+    public static <T> String toFlatJson(List<TreeNode<T>> roots, TreeJsonOptions<T> options) {
+        return toString(new Forest<>(roots, options, true));
+    }
+
+    private static String toString(Forest<?> forest) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator gen = FACTORY.createGenerator(writer)) {
+            JsonUtils.mapper().writeValue(gen, forest);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize tree to JSON", e);
+        }
+        return writer.toString();
+    }
+
+    /** Streams the nested form to {@code out}; suitable for trees too large to hold as a String */
+    public static <T> void write(OutputStream out, List<TreeNode<T>> roots, TreeJsonOptions<T> options) {
+        writeTo(out, new Forest<>(roots, options, false));
+    }
+
+    public static <T> void writeFlat(OutputStream out, List<TreeNode<T>> roots, TreeJsonOptions<T> options) {
+        writeTo(out, new Forest<>(roots, options, true));
+    }
+
+    private static void writeTo(OutputStream out, Forest<?> forest) {
+        try (JsonGenerator gen = FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            JsonUtils.mapper().writeValue(gen, forest);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write tree JSON", e);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Read
+    // -------------------------------------------------------------------------
+
+    public static <T> List<TreeNode<T>> fromJson(String json, Class<T> type, TreeJsonOptions<T> options) {
+        if (json == null || json.isBlank()) return List.of();
+        try (JsonParser p = FACTORY.createParser(json)) {
+            return readNested(p, type, options);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialize tree JSON", e);
+        }
+    }
+
+    /** Reads the nested form from {@code in}; the stream is not closed */
+    public static <T> List<TreeNode<T>> read(InputStream in, Class<T> type, TreeJsonOptions<T> options) {
+        try (JsonParser p = FACTORY.createParser(in)) {
+            p.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return readNested(p, type, options);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read tree JSON", e);
+        }
+    }
+
+    private static <T> List<TreeNode<T>> readNested(JsonParser p, Class<T> type, TreeJsonOptions<T> options) throws IOException {
+        ObjectMapper mapper = JsonUtils.mapper();
+        JavaType dataType = mapper.constructType(type);
+        p.nextToken();
+        return TreeNodeDeserializer.readForest(p, bp -> mapper.readValue(bp, dataType), options,
+                TreeNodeDeserializer.dataFieldFor(options, dataType), false);
+    }
+
+    /**
+     * Reads the flat form one element at a time and links it with {@link TreeBuilder#buildFrom};
+     * the element list is never materialised. The stream is not closed.
+     */
+    public static <T, ID> TreeBuildResult<T, ID> readFlat(InputStream in, Class<T> type,
+                                                          Function<T, ID> idFunc, Function<T, ID> parentIdFunc) {
+        ObjectMapper mapper = JsonUtils.mapper();
+        JavaType dataType = mapper.constructType(type);
+        try (JsonParser p = FACTORY.createParser(in)) {
+            p.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (p.nextToken() != JsonToken.START_ARRAY) {
+                throw JsonMappingException.from(p, "Expected an array of tree items");
+            }
+            Iterator<T> items = new Iterator<>() {
+                private JsonToken next = p.nextToken();
+
+                @Override
+                public boolean hasNext() {
+                    return next != null && next != JsonToken.END_ARRAY;
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    try {
+                        T item = mapper.readValue(p, dataType);
+                        next = p.nextToken();
+                        return item;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+            return TreeBuilder.buildFrom(items, idFunc, parentIdFunc);
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Failed to read flat tree JSON", e);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Mapped tree payloads
+    // -------------------------------------------------------------------------
+
+    /** {@link MappedTree} payload codec storing each node's data as JSON (bytes) with the shared mapper */
+    public static <T> MappedTree.Codec<T> mappedCodec(Class<T> type) {
+        ObjectMapper mapper = JsonUtils.mapper();
+        return new MappedTree.Codec<>() {
+            @Override
+            public byte[] encode(T value) {
+                try {
+                    return mapper.writeValueAsBytes(value);
+                } catch (JsonProcessingException e) {
+                    throw new RuntimeException("Failed to serialize tree node payload", e);
+                }
+            }
+
+            @Override
+            public T decode(ByteBuffer bytes) {
+                try {
+                    return mapper.readValue(new ByteBufferBackedInputStream(bytes), type);
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to deserialize tree node payload", e);
+                }
+            }
+        };
+    }
+
+    /** Root array handed to Jackson, so writes get the mapper's serializer provider and config */
+    private static final class Forest<T> implements JsonSerializable {
+        private final List<TreeNode<T>> roots;
+        private final TreeJsonOptions<T> options;
+        private final boolean flat;
+
+        Forest(List<TreeNode<T>> roots, TreeJsonOptions<T> options, boolean flat) {
+            this.roots = roots == null ? List.of() : roots;
+            this.options = options == null ? TreeJsonOptions.defaults() : options;
+            this.flat = flat;
+        }
+
+        @Override
+        public void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException {
+            TreeNodeSerializer.writeForest(roots, gen, provider, options, flat, true);
+        }
+
+        @Override
+        public void serializeWithType(JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer) throws IOException {
+            serialize(gen, provider);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.leratortech.toolkit.json;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.leratortech.toolkit.tree.TreeNode;
+
+/**
+ * Jackson module for {@link TreeNode}: nested form with inline data and a {@code "children"} array.
+ * Registered on the {@link JsonUtils} mapper; register it on your own mapper the same way.
+ */
+public final class TreeJsonModule extends SimpleModule {
+
+    public TreeJsonModule() {
+        this(TreeJsonOptions.defaults());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TreeJsonModule(TreeJsonOptions<?> options) {
+        super("TreeJsonModule");
+        addSerializer((Class) TreeNode.class, (JsonSerializer) new TreeNodeSerializer(options));
+        addDeserializer((Class) TreeNode.class, (JsonDeserializer) new TreeNodeDeserializer(null, options));
+    }
+}
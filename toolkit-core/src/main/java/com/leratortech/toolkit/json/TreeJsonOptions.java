@@ -0,0 +1,76 @@
+package com.leratortech.toolkit.json;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Shape of the JSON written / read by {@link TreeJson}.
+ * <p>
+ * Defaults: node data fields inline next to a {@code "children"} array, no depth limit, all data fields.
+ * Non-bean data (String, numbers, maps, ...) cannot be inlined and goes under {@code "data"}.
+ */
+public final class TreeJsonOptions<T> {
+
+    public static final String DEFAULT_CHILDREN_FIELD = "children";
+    public static final String DEFAULT_DATA_FIELD = "data";
+
+    private String childrenField = DEFAULT_CHILDREN_FIELD;
+    private String dataField;
+    private int maxDepth = Integer.MAX_VALUE;
+    private final Map<String, Function<T, ?>> fields = new LinkedHashMap<>();
+    private Function<T, ?> idFunc;
+    private String idField = "id";
+    private String parentIdField = "parentId";
+
+    public static <T> TreeJsonOptions<T> defaults() {
+        return new TreeJsonOptions<>();
+    }
+
+    /** Name of the children array in the nested form */
+    public TreeJsonOptions<T> childrenField(String name) {
+        this.childrenField = name;
+        return this;
+    }
+
+    /** Writes the data as an object under {@code name} instead of inlining its fields */
+    public TreeJsonOptions<T> dataField(String name) {
+        this.dataField = name;
+        return this;
+    }
+
+    /** Number of levels to write (1 = roots only); deeper input is rejected when reading */
+    public TreeJsonOptions<T> maxDepth(int levels) {
+        if (levels < 1) throw new IllegalArgumentException("maxDepth must be >= 1");
+        this.maxDepth = levels;
+        return this;
+    }
+
+    /** Field projection: once any field is added, only the added fields are written, in this order */
+    public TreeJsonOptions<T> field(String name, Function<T, ?> getter) {
+        fields.put(name, getter);
+        return this;
+    }
+
+    /** Flat form only: write {@code "id"} and {@code "parentId"} taken from the tree structure */
+    public TreeJsonOptions<T> ids(Function<T, ?> idFunc) {
+        this.idFunc = idFunc;
+        return this;
+    }
+
+    public TreeJsonOptions<T> ids(Function<T, ?> idFunc, String idField, String parentIdField) {
+        this.idFunc = idFunc;
+        this.idField = idField;
+        this.parentIdField = parentIdField;
+        return this;
+    }
+
+    String getChildrenField() { return childrenField; }
+    String getDataField() { return dataField; }
+    int getMaxDepth() { return maxDepth; }
+    Map<String, Function<T, ?>> getFields() { return Collections.unmodifiableMap(fields); }
+    Function<T, ?> getIdFunc() { return idFunc; }
+    String getIdField() { return idField; }
+    String getParentIdField() { return parentIdField; }
+}
@@ -0,0 +1,151 @@
+package com.leratortech.toolkit.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.leratortech.toolkit.tree.TreeNode;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Reads the nested form written by {@link TreeNodeSerializer} back into {@link TreeNode}s.
+ * <p>
+ * Uses an explicit stack instead of recursion. The inline data fields of each node are buffered as
+ * tokens (not as a map) and bound to the data type when the node object ends, so {@code "children"}
+ * may appear anywhere among the fields.
+ */
+public final class TreeNodeDeserializer extends StdDeserializer<TreeNode<?>> implements ContextualDeserializer {
+
+    /** Binds one data value; the parser is positioned on the value's first token */
+    @FunctionalInterface
+    interface DataReader<T> {
+        T read(JsonParser p) throws IOException;
+    }
+
+    private final JavaType dataType;
+    private final TreeJsonOptions<?> options;
+
+    public TreeNodeDeserializer() {
+        this(null, TreeJsonOptions.defaults());
+    }
+
+    public TreeNodeDeserializer(JavaType dataType, TreeJsonOptions<?> options) {
+        super(TreeNode.class);
+        this.dataType = dataType;
+        this.options = options;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+        JavaType type = ctxt.getContextualType() != null ? ctxt.getContextualType()
+                : property != null ? property.getType() : null;
+        JavaType data = type == null ? ctxt.constructType(Object.class) : type.containedTypeOrUnknown(0);
+        return new TreeNodeDeserializer(data, options);
+    }
+
+    @Override
+    public TreeNode<?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JavaType type = dataType != null ? dataType : ctxt.constructType(Object.class);
+        DataReader<Object> reader = bp -> ctxt.readValue(bp, type);
+        return readForest(p, reader, options, dataFieldFor(options, type), true).get(0);
+    }
+
+    /** The field holding the data, or null when data fields are inline (beans) */
+    static String dataFieldFor(TreeJsonOptions<?> options, JavaType type) {
+        if (options.getDataField() != null) return options.getDataField();
+        Class<?> raw = type.getRawClass();
+        boolean scalar = raw.isPrimitive() || raw.isEnum()
+                || type.isContainerType() || ClassUtil.isJDKClass(raw);
+        return scalar ? TreeJsonOptions.DEFAULT_DATA_FIELD : null;
+    }
+
+    /**
+     * Reads one node object ({@code single}, parser on START_OBJECT) or an array of root nodes
+     * (parser on START_ARRAY). Unknown fields are skipped when the data is under {@code dataField}.
+     */
+    static <T> List<TreeNode<T>> readForest(JsonParser p, DataReader<T> reader, TreeJsonOptions<?> options,
+                                            String dataField, boolean single) throws IOException {
+        String childrenField = options.getChildrenField();
+        int maxDepth = options.getMaxDepth();
+        Deque<Frame<T>> stack = new ArrayDeque<>();
+        List<TreeNode<T>> roots = new ArrayList<>();
+
+        JsonToken t = p.currentToken();
+        if (single) {
+            if (t != JsonToken.START_OBJECT) throw JsonMappingException.from(p, "Expected a tree node object, got " + t);
+            stack.push(new Frame<>());
+        } else if (t != JsonToken.START_ARRAY) {
+            throw JsonMappingException.from(p, "Expected an array of tree nodes, got " + t);
+        }
+
+        while ((t = p.nextToken()) != null) {
+            switch (t) {
+                case START_OBJECT -> {
+                    if (stack.size() >= maxDepth) throw JsonMappingException.from(p, "Tree deeper than maxDepth " + maxDepth);
+                    stack.push(new Frame<>());
+                }
+                case FIELD_NAME -> {
+                    Frame<T> frame = stack.peek();
+                    String name = p.currentName();
+                    JsonToken value = p.nextToken();
+                    if (name.equals(childrenField)) {
+                        if (value != JsonToken.START_ARRAY && value != JsonToken.VALUE_NULL) {
+                            throw JsonMappingException.from(p, "Expected an array for '" + childrenField + "'");
+                        }
+                    } else if (dataField == null) {
+                        frame.buffer(p).writeFieldName(name);
+                        frame.buffer.copyCurrentStructure(p);
+                    } else if (name.equals(dataField)) {
+                        frame.data = reader.read(p);
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+                case END_ARRAY -> {
+                    // end of a children array, or of the root array
+                    if (stack.isEmpty()) return roots;
+                }
+                case END_OBJECT -> {
+                    Frame<T> frame = stack.pop();
+                    TreeNode<T> node = new TreeNode<>(dataField == null ? frame.bind(p, reader) : frame.data);
+                    for (TreeNode<T> child : frame.children) node.addChild(child);
+                    (stack.isEmpty() ? roots : stack.peek().children).add(node);
+                    if (single && stack.isEmpty()) return roots;
+                }
+                default -> throw JsonMappingException.from(p, "Unexpected token " + t + " in tree");
+            }
+        }
+        throw JsonMappingException.from(p, "Unexpected end of input in tree");
+    }
+
+    private static final class Frame<T> {
+        private final List<TreeNode<T>> children = new ArrayList<>(4);
+        private TokenBuffer buffer;
+        private T data;
+
+        TokenBuffer buffer(JsonParser p) throws IOException {
+            if (buffer == null) {
+                buffer = new TokenBuffer(p);
+                buffer.writeStartObject();
+            }
+            return buffer;
+        }
+
+        T bind(JsonParser p, DataReader<T> reader) throws IOException {
+            TokenBuffer fields = buffer(p);
+            fields.writeEndObject();
+            try (JsonParser bp = fields.asParser(p.getCodec())) {
+                bp.nextToken();
+                return reader.read(bp);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.leratortech.toolkit.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import com.leratortech.toolkit.tree.TreeNode;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Writes a {@link TreeNode} straight to the {@link JsonGenerator} in nested form.
+ * <p>
+ * Uses an explicit stack instead of recursion, so depth is only limited by memory, and builds no
+ * intermediate maps: bean data is written inline through Jackson's unwrapping serializer.
+ */
+public final class TreeNodeSerializer extends StdSerializer<TreeNode<?>> {
+
+    private final TreeJsonOptions<Object> options;
+
+    public TreeNodeSerializer() {
+        this(TreeJsonOptions.defaults());
+    }
+
+    @SuppressWarnings("unchecked")
+    public TreeNodeSerializer(TreeJsonOptions<?> options) {
+        super((Class<TreeNode<?>>) (Class<?>) TreeNode.class);
+        this.options = (TreeJsonOptions<Object>) options;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void serialize(TreeNode<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writeForest(Collections.singletonList((TreeNode<Object>) value), gen, provider, options, false, false);
+    }
+
+    /**
+     * Writes the forest in nested form, or in pre-order flat form (no children arrays) when {@code flat}.
+     * With {@code asArray} the nodes are wrapped in a JSON array, otherwise they are written back to back.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void writeForest(List<TreeNode<T>> roots, JsonGenerator gen, SerializerProvider provider,
+                                TreeJsonOptions<T> options, boolean flat, boolean asArray) throws IOException {
+        DataWriter<T> data = new DataWriter<>(options);
+        List<TreeNode<T>>[] lists = new List[16];
+        int[] next = new int[16];
+        int top = 0;
+        lists[top++] = roots;
+
+        if (asArray) gen.writeStartArray();
+        while (top > 0) {
+            List<TreeNode<T>> siblings = lists[top - 1];
+            if (next[top - 1] == siblings.size()) {
+                lists[--top] = null;
+                next[top] = 0;
+                // closes the parent's children array and the parent object
+                if (!flat && top > 0) {
+                    gen.writeEndArray();
+                    gen.writeEndObject();
+                }
+                continue;
+            }
+            TreeNode<T> node = siblings.get(next[top - 1]++);
+            int depth = top - 1;
+
+            gen.writeStartObject();
+            if (flat && options.getIdFunc() != null) writeIds(node, gen, provider, options);
+            data.write(node.getData(), gen, provider);
+
+            boolean descend = !node.getChildren().isEmpty() && depth + 1 < options.getMaxDepth();
+            if (descend && !flat) {
+                gen.writeFieldName(options.getChildrenField());
+                gen.writeStartArray();
+            } else {
+                gen.writeEndObject();
+            }
+            if (descend) {
+                if (top == lists.length) {
+                    lists = Arrays.copyOf(lists, top * 2);
+                    next = Arrays.copyOf(next, top * 2);
+                }
+                lists[top++] = node.getChildren();
+            }
+        }
+        if (asArray) gen.writeEndArray();
+    }
+
+    private static <T> void writeIds(TreeNode<T> node, JsonGenerator gen, SerializerProvider provider,
+                                     TreeJsonOptions<T> options) throws IOException {
+        Function<T, ?> idFunc = options.getIdFunc();
+        gen.writeFieldName(options.getIdField());
+        provider.defaultSerializeValue(idFunc.apply(node.getData()), gen);
+        gen.writeFieldName(options.getParentIdField());
+        TreeNode<T> parent = node.getParent();
+        provider.defaultSerializeValue(parent == null ? null : idFunc.apply(parent.getData()), gen);
+    }
+
+    /** Writes the fields of one node's data; caches the unwrapping serializer of the last data class */
+    private static final class DataWriter<T> {
+        private final TreeJsonOptions<T> options;
+        private final Map<String, Function<T, ?>> fields;
+        private Class<?> lastClass;
+        private JsonSerializer<Object> lastSerializer;
+
+        DataWriter(TreeJsonOptions<T> options) {
+            this.options = options;
+            this.fields = options.getFields();
+        }
+
+        void write(T data, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (!fields.isEmpty()) {
+                for (Map.Entry<String, Function<T, ?>> field : fields.entrySet()) {
+                    gen.writeFieldName(field.getKey());
+                    provider.defaultSerializeValue(data == null ? null : field.getValue().apply(data), gen);
+                }
+                return;
+            }
+            if (options.getDataField() != null) {
+                gen.writeFieldName(options.getDataField());
+                provider.defaultSerializeValue(data, gen);
+                return;
+            }
+            if (data == null) return;
+
+            if (data.getClass() != lastClass) {
+                lastClass = data.getClass();
+                lastSerializer = provider.findValueSerializer(lastClass, null).unwrappingSerializer(NameTransformer.NOP);
+            }
+            if (!lastSerializer.isUnwrappingSerializer()) gen.writeFieldName(TreeJsonOptions.DEFAULT_DATA_FIELD);
+            lastSerializer.serialize(data, gen, provider);
+        }
+    }
+}
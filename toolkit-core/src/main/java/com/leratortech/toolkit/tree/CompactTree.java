@@ -0,0 +1,255 @@
+package com.leratortech.toolkit.tree;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Struct-of-arrays tree for huge hierarchies.
+ * <p>
+ * Node {@code i} is the i-th input item; structure lives in three {@code int[]} (parent, first child,
+ * next sibling) and data in one {@code Object[]}, so there is no per-node object or children list.
+ * Children keep input order, same as {@link TreeBuilder}. Nodes are addressed by index, -1 means none.
+ * Traversals follow parent / sibling links and need no stack.
+ * <p>
+ * Structure costs 3 ints + 1 reference per node (~16 B with compressed oops) versus a node object plus
+ * its children list for {@link TreeNode}; {@code TreeMemoryReport} in toolkit-benchmarks measures both
+ * on the same input.
+ */
+public final class CompactTree<T> {
+
+    public static final int NONE = -1;
+
+    private final Object[] data;
+    private final int[] parent;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int firstRoot;
+
+    private CompactTree(Object[] data, int[] parent, int[] firstChild, int[] nextSibling, int firstRoot) {
+        this.data = data;
+        this.parent = parent;
+        this.firstChild = firstChild;
+        this.nextSibling = nextSibling;
+        this.firstRoot = firstRoot;
+    }
+
+    /** Same input and root rules as {@link TreeBuilder#buildTree}: null or unknown parent id makes a root */
+    public static <T, ID> CompactTree<T> build(List<T> items, Function<T, ID> idFunc, Function<T, ID> parentIdFunc) {
+        int n = items == null ? 0 : items.size();
+        Object[] data = n == 0 ? new Object[0] : items.toArray();
+        int[] parent = new int[n];
+        int[] firstChild = new int[n];
+        int[] nextSibling = new int[n];
+        Arrays.fill(firstChild, NONE);
+
+        // the id index is only needed while linking
+        Map<ID, Integer> positions = new HashMap<>(TreeBuilder.capacity(n));
+        for (int i = 0; i < n; i++) positions.put(idFunc.apply(item(data, i)), i);
+
+        for (int i = 0; i < n; i++) {
+            ID parentId = parentIdFunc.apply(item(data, i));
+            Integer p = parentId == null ? null : positions.get(parentId);
+            parent[i] = p == null ? NONE : p;
+        }
+
+        // prepend in reverse input order so sibling chains end up in input order
+        int firstRoot = NONE;
+        for (int i = n - 1; i >= 0; i--) {
+            int p = parent[i];
+            if (p == NONE) {
+                nextSibling[i] = firstRoot;
+                firstRoot = i;
+            } else {
+                nextSibling[i] = firstChild[p];
+                firstChild[p] = i;
+            }
+        }
+        return new CompactTree<>(data, parent, firstChild, nextSibling, firstRoot);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T item(Object[] data, int i) {
+        return (T) data[i];
+    }
+
+    // -----------------------------
+    // Structure
+    // -----------------------------
+
+    public int size() { return data.length; }
+
+    public T getData(int node) { return item(data, node); }
+
+    public int getParent(int node) { return parent[node]; }
+
+    public int getFirstChild(int node) { return firstChild[node]; }
+
+    public int getNextSibling(int node) { return nextSibling[node]; }
+
+    public int getFirstRoot() { return firstRoot; }
+
+    public boolean isLeaf(int node) { return firstChild[node] == NONE; }
+
+    public int[] getRoots() { return siblingsFrom(firstRoot); }
+
+    public int[] getChildren(int node) { return siblingsFrom(firstChild[node]); }
+
+    private int[] siblingsFrom(int first) {
+        int count = 0;
+        for (int c = first; c != NONE; c = nextSibling[c]) count++;
+        int[] result = new int[count];
+        for (int c = first, k = 0; c != NONE; c = nextSibling[c]) result[k++] = c;
+        return result;
+    }
+
+    // -----------------------------
+    // Traverse / Flatten
+    // -----------------------------
+
+    /** Pre-order over the whole forest; returns false if the visitor stopped early */
+    public boolean walk(NodeVisitor visitor) {
+        return walkFrom(firstRoot, true, visitor);
+    }
+
+    /** Pre-order over the subtree of {@code node}, the node included */
+    public boolean walkSubtree(int node, NodeVisitor visitor) {
+        return walkFrom(node, false, visitor);
+    }
+
+    /** Visitor over node indexes with depth relative to the walk start; return false to stop */
+    @FunctionalInterface
+    public interface NodeVisitor {
+        boolean visit(int node, int depth);
+    }
+
+    private boolean walkFrom(int start, boolean withSiblings, NodeVisitor visitor) {
+        int node = start;
+        int depth = 0;
+        while (node != NONE) {
+            if (!visitor.visit(node, depth)) return false;
+            if (firstChild[node] != NONE) {
+                node = firstChild[node];
+                depth++;
+                continue;
+            }
+            // climb until a node with a next sibling, never leaving the walk start
+            while (node != NONE) {
+                if (depth == 0 && !withSiblings) return true;
+                if (nextSibling[node] != NONE) {
+                    node = nextSibling[node];
+                    break;
+                }
+                node = parent[node];
+                depth--;
+            }
+        }
+        return true;
+    }
+
+    public void traverse(Consumer<T> consumer) {
+        if (consumer == null) return;
+        walk((node, depth) -> { consumer.accept(getData(node)); return true; });
+    }
+
+    public void forEachIndex(IntConsumer consumer) {
+        if (consumer == null) return;
+        walk((node, depth) -> { consumer.accept(node); return true; });
+    }
+
+    /** All node indexes in pre-order, filled into an exactly sized array */
+    public int[] flatten() {
+        int[] result = new int[data.length];
+        int[] k = {0};
+        walk((node, depth) -> { result[k[0]++] = node; return true; });
+        // nodes on a parent-id cycle are unreachable from any root
+        return k[0] == result.length ? result : Arrays.copyOf(result, k[0]);
+    }
+
+    public List<T> flattenData() {
+        List<T> result = new ArrayList<>(data.length);
+        walk((node, depth) -> result.add(getData(node)));
+        return Collections.unmodifiableList(result);
+    }
+
+    // -----------------------------
+    // Search
+    // -----------------------------
+
+    /** First node in pre-order whose data matches, or {@link #NONE} */
+    public int findNode(Predicate<T> predicate) {
+        if (predicate == null) return NONE;
+        int[] found = {NONE};
+        walk((node, depth) -> {
+            if (!predicate.test(getData(node))) return true;
+            found[0] = node;
+            return false;
+        });
+        return found[0];
+    }
+
+    public <ID> int findNodeById(Function<T, ID> idFunc, ID id) {
+        return findNode(item -> Objects.equals(idFunc.apply(item), id));
+    }
+
+    /** Descendants of the node in pre-order */
+    public int[] getDescendants(int node) {
+        int[] result = new int[subtreeSize(node) - 1];
+        int[] k = {0};
+        walkSubtree(node, (n, depth) -> {
+            if (depth > 0) result[k[0]++] = n;
+            return true;
+        });
+        return result;
+    }
+
+    /** Ancestors from the root down to the direct parent */
+    public int[] getAncestors(int node) {
+        int depth = getDepth(node);
+        int[] result = new int[depth];
+        for (int p = parent[node]; p != NONE; p = parent[p]) result[--depth] = p;
+        return result;
+    }
+
+    // -----------------------------
+    // Stats
+    // -----------------------------
+
+    /** Number of edges up to the root (roots are 0) */
+    public int getDepth(int node) {
+        int depth = 0;
+        for (int p = parent[node]; p != NONE; p = parent[p]) depth++;
+        return depth;
+    }
+
+    /** Number of levels, same meaning as {@link TreeStats#getHeight} */
+    public int getHeight() {
+        int[] max = {0};
+        walk((node, depth) -> {
+            if (depth >= max[0]) max[0] = depth + 1;
+            return true;
+        });
+        return max[0];
+    }
+
+    public int subtreeSize(int node) {
+        int[] count = {0};
+        walkSubtree(node, (n, depth) -> { count[0]++; return true; });
+        return count[0];
+    }
+
+    /** Converts back to linked {@link TreeNode}s, e.g. for APIs that need them */
+    @SuppressWarnings("unchecked")
+    public List<TreeNode<T>> toTreeNodes() {
+        TreeNode<T>[] nodes = new TreeNode[data.length];
+        for (int i = 0; i < data.length; i++) nodes[i] = new TreeNode<>(getData(i));
+        List<TreeNode<T>> roots = new ArrayList<>();
+        forEachIndex(i -> {
+            if (parent[i] == NONE) roots.add(nodes[i]);
+            else nodes[parent[i]].addChild(nodes[i]);
+        });
+        return roots;
+    }
+}
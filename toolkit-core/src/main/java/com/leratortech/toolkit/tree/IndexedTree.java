@@ -0,0 +1,81 @@
+package com.leratortech.toolkit.tree;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Tree built together with its id index.
+ * Lookup by id, parent and children are O(1) instead of a DFS over the whole forest.
+ * The parent index is the node's own parent link, set by {@link TreeBuilder}.
+ */
+public final class IndexedTree<T, ID> {
+
+    private final List<TreeNode<T>> roots;
+    private final Map<ID, TreeNode<T>> index;
+    private final Function<T, ID> idFunc;
+
+    IndexedTree(List<TreeNode<T>> roots, Map<ID, TreeNode<T>> index, Function<T, ID> idFunc) {
+        this.roots = roots;
+        this.index = index;
+        this.idFunc = idFunc;
+    }
+
+    public List<TreeNode<T>> getRoots() { return roots; }
+    public Function<T, ID> getIdFunc() { return idFunc; }
+
+    public int size() { return index.size(); }
+    public boolean isEmpty() { return index.isEmpty(); }
+    public boolean contains(ID id) { return index.containsKey(id); }
+
+    /** Node with the given id, or null */
+    public TreeNode<T> get(ID id) {
+        return index.get(id);
+    }
+
+    public Optional<TreeNode<T>> find(ID id) {
+        return Optional.ofNullable(index.get(id));
+    }
+
+    /** Parent of the node with the given id, or null for roots / unknown ids */
+    public TreeNode<T> parentOf(ID id) {
+        TreeNode<T> node = index.get(id);
+        return node == null ? null : node.getParent();
+    }
+
+    public ID parentIdOf(ID id) {
+        TreeNode<T> parent = parentOf(id);
+        return parent == null ? null : idOf(parent);
+    }
+
+    /** Live children list of the node with the given id, empty for unknown ids */
+    public List<TreeNode<T>> childrenOf(ID id) {
+        TreeNode<T> node = index.get(id);
+        return node == null ? Collections.emptyList() : node.getChildren();
+    }
+
+    public ID idOf(TreeNode<T> node) {
+        return node == null ? null : idFunc.apply(node.getData());
+    }
+
+    /** True if the node with id {@code ancestorId} is a proper ancestor of the node with id {@code id} */
+    public boolean isAncestor(ID ancestorId, ID id) {
+        TreeNode<T> ancestor = index.get(ancestorId);
+        TreeNode<T> node = index.get(id);
+        if (ancestor == null || node == null) return false;
+        for (TreeNode<T> p = node.getParent(); p != null; p = p.getParent()) {
+            if (p == ancestor) return true;
+        }
+        return false;
+    }
+
+    Map<ID, TreeNode<T>> index() { return index; }
+
+    @Override
+    public String toString() {
+        return "IndexedTree{size=" + index.size() + ", roots=" + Objects.toString(roots) + "}";
+    }
+}
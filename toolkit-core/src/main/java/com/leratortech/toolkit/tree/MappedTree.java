@@ -0,0 +1,369 @@
+package com.leratortech.toolkit.tree;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Read-only tree backed by a memory-mapped binary file, for large reference trees that should be
+ * queryable right after startup.
+ * <p>
+ * The file is written once with {@link #write} and opened with {@link #open}, which only maps it: structure
+ * (parent, subtree end and depth per node, same labelling as {@link TreeIntervalIndex}) and the optional
+ * sorted {@code long} id index are read straight from the mapping, and a node's payload is decoded only
+ * when {@link #getData} asks for it. Nodes are addressed by pre-order position, {@link #NONE} means none.
+ * Files are limited to 2 GB (one mapping). Safe for concurrent readers.
+ * <p>
+ * Layout (big-endian): 32-byte header (magic, version, n, k, structure offset, flags), payloads, then
+ * {@code int parent[n], end[n], depth[n]}, {@code int payloadOffset[n + 1]}, {@code long ids[k]},
+ * {@code int idPositions[k]}.
+ */
+public final class MappedTree<T> {
+
+    public static final int NONE = -1;
+
+    private static final int MAGIC = 0x54524545; // "TREE"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int FLAG_IDS = 1;
+
+    /** Payload encoding; {@code decode} gets a read-only buffer holding exactly the encoded bytes */
+    public interface Codec<T> {
+        byte[] encode(T value);
+
+        T decode(ByteBuffer bytes);
+
+        static Codec<String> utf8() {
+            return new Codec<>() {
+                @Override
+                public byte[] encode(String value) { return value.getBytes(StandardCharsets.UTF_8); }
+
+                @Override
+                public String decode(ByteBuffer bytes) { return StandardCharsets.UTF_8.decode(bytes).toString(); }
+            };
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final Codec<T> codec;
+    private final int size;
+    private final boolean hasIds;
+    private final int idCount;
+    private final int parentAt;
+    private final int endAt;
+    private final int depthAt;
+    private final int offsetAt;
+    private final int idsAt;
+    private final int idPositionsAt;
+
+    private MappedTree(ByteBuffer buffer, Codec<T> codec) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) throw new IOException("Not a mapped tree file");
+        if (buffer.getInt(4) != FORMAT_VERSION) throw new IOException("Unsupported mapped tree version: " + buffer.getInt(4));
+        this.buffer = buffer;
+        this.codec = codec;
+        this.size = buffer.getInt(8);
+        this.idCount = buffer.getInt(12);
+        this.hasIds = (buffer.getInt(20) & FLAG_IDS) != 0;
+        this.parentAt = buffer.getInt(16);
+        this.endAt = parentAt + 4 * size;
+        this.depthAt = endAt + 4 * size;
+        this.offsetAt = depthAt + 4 * size;
+        this.idsAt = offsetAt + 4 * (size + 1);
+        this.idPositionsAt = idsAt + 8 * idCount;
+        if (idPositionsAt + 4L * idCount > buffer.capacity()) throw new IOException("Truncated mapped tree file");
+    }
+
+    // -----------------------------
+    // Write / Open
+    // -----------------------------
+
+    /** Writes the forest without an id index */
+    public static <T> void write(List<TreeNode<T>> roots, Path file, Codec<T> codec) throws IOException {
+        write(roots, file, codec, null);
+    }
+
+    /**
+     * Writes the forest in pre-order, replacing {@code file}. With an {@code idFunc} the file also gets a
+     * sorted id index for {@link #indexOf}.
+     * <p>
+     * The data goes to a temp file in the same directory, is forced to disk and then atomically moved over
+     * {@code file}, and the directory is synced: trees already opened on the old file keep reading their own
+     * (unlinked) mapping, and a crash mid-write never leaves a {@code file} without a valid header. A
+     * replaced file keeps its POSIX permissions.
+     *
+     * @throws IllegalArgumentException on duplicate ids or if the file would exceed 2 GB
+     */
+    public static <T> void write(List<TreeNode<T>> roots, Path file, Codec<T> codec, ToLongFunction<T> idFunc) throws IOException {
+        TreeIntervalIndex<T> index = TreeIntervalIndex.of(roots);
+        int n = index.size();
+        long[] ids = null;
+        int[] idPositions = null;
+        if (idFunc != null) {
+            ids = new long[n];
+            for (int i = 0; i < n; i++) ids[i] = idFunc.applyAsLong(index.nodeAt(i).getData());
+            idPositions = sortedPositions(ids);
+        }
+
+        Path dir = file.toAbsolutePath().getParent();
+        Path tmp = createSibling(dir, file.getFileName().toString());
+        try {
+            writeTo(tmp, index, codec, ids, idPositions);
+            copyPermissions(file, tmp);
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            forceDirectory(dir);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** New empty file next to the target, with default permissions (createTempFile would force 0600) */
+    private static Path createSibling(Path dir, String name) throws IOException {
+        while (true) {
+            Path tmp = dir.resolve(name + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                return Files.createFile(tmp);
+            } catch (FileAlreadyExistsException e) {
+                // name taken, draw another
+            }
+        }
+    }
+
+    /** A replaced file keeps its POSIX permissions; owner and group are not copied (needs privileges) */
+    private static void copyPermissions(Path from, Path to) throws IOException {
+        if (!Files.exists(from)) return;
+        PosixFileAttributeView view = Files.getFileAttributeView(from, PosixFileAttributeView.class);
+        if (view != null) Files.setPosixFilePermissions(to, view.readAttributes().permissions());
+    }
+
+    /** Makes the rename durable; directories cannot be opened for sync on every platform (e.g. Windows) */
+    private static void forceDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // best effort: the move itself already happened
+        }
+    }
+
+    private static <T> void writeTo(Path file, TreeIntervalIndex<T> index, Codec<T> codec, long[] ids, int[] idPositions)
+            throws IOException {
+        int n = index.size();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // payloads first, streamed, so the offsets are known when the structure is written after them
+            channel.position(HEADER_SIZE);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            int[] offsets = new int[n + 1];
+            long position = HEADER_SIZE;
+            for (int i = 0; i < n; i++) {
+                offsets[i] = checkedOffset(position);
+                byte[] bytes = codec.encode(index.nodeAt(i).getData());
+                out.write(bytes);
+                position += bytes.length;
+            }
+            offsets[n] = checkedOffset(position);
+
+            int k = ids == null ? 0 : n;
+            int structureAt = offsets[n];
+            checkedOffset(position + 16L * n + 4 + 12L * k);
+            for (int i = 0; i < n; i++) out.writeInt(index.parentIndex(i));
+            for (int i = 0; i < n; i++) out.writeInt(index.subtreeEnd(i));
+            for (int i = 0; i < n; i++) out.writeInt(index.depthAt(i));
+            for (int offset : offsets) out.writeInt(offset);
+            for (int i = 0; i < k; i++) out.writeLong(ids[i]);
+            for (int i = 0; i < k; i++) out.writeInt(idPositions[i]);
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(n).putInt(k).putInt(structureAt).putInt(ids == null ? 0 : FLAG_IDS).flip();
+            while (header.hasRemaining()) channel.write(header, header.position());
+            channel.force(true);
+        }
+    }
+
+    /** Sorts {@code ids} in place and returns the pre-order position of each sorted id */
+    private static int[] sortedPositions(long[] ids) {
+        long[] byPosition = ids.clone();
+        Arrays.sort(ids);
+        for (int i = 1; i < ids.length; i++) {
+            if (ids[i] == ids[i - 1]) throw new IllegalArgumentException("Duplicate id: " + ids[i]);
+        }
+        int[] positions = new int[ids.length];
+        for (int i = 0; i < byPosition.length; i++) positions[Arrays.binarySearch(ids, byPosition[i])] = i;
+        return positions;
+    }
+
+    private static int checkedOffset(long position) {
+        if (position > Integer.MAX_VALUE) throw new IllegalArgumentException("Mapped tree file would exceed 2 GB");
+        return (int) position;
+    }
+
+    /** Maps the file read-only; nothing is decoded until asked for */
+    public static <T> MappedTree<T> open(Path file, Codec<T> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return new MappedTree<>(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), codec);
+        }
+    }
+
+    // -----------------------------
+    // Structure
+    // -----------------------------
+
+    public int size() { return size; }
+
+    /** Decodes the payload of the node; every call decodes again */
+    public T getData(int node) { return codec.decode(payload(node)); }
+
+    /** Encoded payload of the node as a read-only view of the mapping */
+    public ByteBuffer payload(int node) {
+        int from = buffer.getInt(offsetAt + 4 * node);
+        int to = buffer.getInt(offsetAt + 4 * node + 4);
+        return buffer.slice(from, to - from).asReadOnlyBuffer();
+    }
+
+    public int getParent(int node) { return buffer.getInt(parentAt + 4 * node); }
+
+    /** Exclusive end of the node's subtree in pre-order */
+    public int subtreeEnd(int node) { return buffer.getInt(endAt + 4 * node); }
+
+    public int subtreeSize(int node) { return subtreeEnd(node) - node; }
+
+    public int getDepth(int node) { return buffer.getInt(depthAt + 4 * node); }
+
+    public boolean isLeaf(int node) { return subtreeEnd(node) == node + 1; }
+
+    public boolean isAncestor(int ancestor, int node) {
+        return ancestor < node && node < subtreeEnd(ancestor);
+    }
+
+    public int[] getRoots() { return childrenIn(0, size); }
+
+    public int[] getChildren(int node) { return childrenIn(node + 1, subtreeEnd(node)); }
+
+    private int[] childrenIn(int from, int to) {
+        int count = 0;
+        for (int c = from; c < to; c = subtreeEnd(c)) count++;
+        int[] result = new int[count];
+        for (int c = from, k = 0; c < to; c = subtreeEnd(c)) result[k++] = c;
+        return result;
+    }
+
+    /** Ancestors from the root down to the direct parent */
+    public int[] getAncestors(int node) {
+        int depth = getDepth(node);
+        int[] result = new int[depth];
+        for (int p = getParent(node); p != NONE; p = getParent(p)) result[--depth] = p;
+        return result;
+    }
+
+    /** Descendants in pre-order: the positions {@code node + 1 .. subtreeEnd(node) - 1} */
+    public int[] getDescendants(int node) {
+        int[] result = new int[subtreeSize(node) - 1];
+        for (int k = 0; k < result.length; k++) result[k] = node + 1 + k;
+        return result;
+    }
+
+    /** Number of levels, same meaning as {@link TreeStats#getHeight} */
+    public int getHeight() {
+        int max = 0;
+        for (int i = 0; i < size; i++) max = Math.max(max, getDepth(i) + 1);
+        return max;
+    }
+
+    // -----------------------------
+    // Ids / Search
+    // -----------------------------
+
+    public boolean hasIdIndex() { return hasIds; }
+
+    /** Position of the node with this id via binary search of the id index, or {@link #NONE} */
+    public int indexOf(long id) {
+        if (!hasIds) throw new IllegalStateException("File was written without an id index");
+        int lo = 0;
+        int hi = idCount - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long value = buffer.getLong(idsAt + 8 * mid);
+            if (value < id) lo = mid + 1;
+            else if (value > id) hi = mid - 1;
+            else return buffer.getInt(idPositionsAt + 4 * mid);
+        }
+        return NONE;
+    }
+
+    public boolean contains(long id) { return indexOf(id) != NONE; }
+
+    public Optional<T> get(long id) {
+        int node = indexOf(id);
+        return node == NONE ? Optional.empty() : Optional.of(getData(node));
+    }
+
+    /** First node in pre-order whose data matches, or {@link #NONE}; decodes every visited payload */
+    public int findNode(Predicate<T> predicate) {
+        if (predicate == null) return NONE;
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(getData(i))) return i;
+        }
+        return NONE;
+    }
+
+    // -----------------------------
+    // Traverse / Convert
+    // -----------------------------
+
+    /** Pre-order over the whole forest with absolute depths; returns false if the visitor stopped early */
+    public boolean walk(CompactTree.NodeVisitor visitor) {
+        for (int i = 0; i < size; i++) {
+            if (!visitor.visit(i, getDepth(i))) return false;
+        }
+        return true;
+    }
+
+    /** Pre-order over the subtree of {@code node} with depths relative to it */
+    public boolean walkSubtree(int node, CompactTree.NodeVisitor visitor) {
+        int base = getDepth(node);
+        for (int i = node, end = subtreeEnd(node); i < end; i++) {
+            if (!visitor.visit(i, getDepth(i) - base)) return false;
+        }
+        return true;
+    }
+
+    public List<T> flattenData() {
+        List<T> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) result.add(getData(i));
+        return result;
+    }
+
+    /** Decodes the whole file into linked {@link TreeNode}s for the rest of the tree API */
+    public List<TreeNode<T>> toTreeNodes() {
+        return toTreeNodes(Function.identity());
+    }
+
+    /** Same as {@link #toTreeNodes()} with each decoded payload mapped, e.g. to a lighter view */
+    @SuppressWarnings("unchecked")
+    public <R> List<TreeNode<R>> toTreeNodes(Function<T, R> mapper) {
+        TreeNode<R>[] nodes = new TreeNode[size];
+        List<TreeNode<R>> roots = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            nodes[i] = new TreeNode<>(mapper.apply(getData(i)));
+            int p = getParent(i);
+            if (p == NONE) roots.add(nodes[i]);
+            else nodes[p].addChild(nodes[i]);
+        }
+        return roots;
+    }
+}
@@ -0,0 +1,223 @@
+package com.leratortech.toolkit.tree;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Indexed tree that supports insert / remove / move without rebuilding.
+ * <p>
+ * The id index and per-node subtree sizes are kept up to date incrementally: insert and move only
+ * touch the ancestors of the changed node (O(depth)); remove additionally unindexes the removed
+ * subtree. Depth is answered by walking parent links (O(depth)) instead of being stored, so moving a
+ * subtree never has to rewrite it. Not thread-safe.
+ */
+public final class MutableTree<T, ID> {
+
+    private final IndexedTree<T, ID> tree;
+    private final Function<T, ID> parentIdFunc;
+    private final Map<TreeNode<T>, int[]> subtreeSizes;
+
+    private MutableTree(IndexedTree<T, ID> tree, Function<T, ID> parentIdFunc) {
+        this.tree = tree;
+        this.parentIdFunc = parentIdFunc;
+        this.subtreeSizes = new IdentityHashMap<>(TreeBuilder.capacity(tree.size()));
+        // one post-order pass: children are counted before their parent
+        TreeWalker.postOrder(tree.getRoots(), node -> {
+            int size = 1;
+            for (TreeNode<T> child : node.getChildren()) size += subtreeSizes.get(child)[0];
+            subtreeSizes.put(node, new int[]{size});
+        });
+    }
+
+    public static <T, ID> MutableTree<T, ID> of(List<T> items, Function<T, ID> idFunc, Function<T, ID> parentIdFunc) {
+        return new MutableTree<>(TreeBuilder.buildIndexedTree(items, idFunc, parentIdFunc), parentIdFunc);
+    }
+
+    /** Takes ownership of an already built tree; it must not be modified elsewhere afterwards */
+    public static <T, ID> MutableTree<T, ID> of(IndexedTree<T, ID> tree, Function<T, ID> parentIdFunc) {
+        return new MutableTree<>(tree, parentIdFunc);
+    }
+
+    // -----------------------------
+    // Queries
+    // -----------------------------
+
+    /** The underlying indexed tree; it reflects every mutation made through this object */
+    public IndexedTree<T, ID> asIndexedTree() { return tree; }
+
+    public List<TreeNode<T>> getRoots() { return tree.getRoots(); }
+    public int size() { return tree.size(); }
+    public boolean contains(ID id) { return tree.contains(id); }
+    public TreeNode<T> get(ID id) { return tree.get(id); }
+    public TreeNode<T> parentOf(ID id) { return tree.parentOf(id); }
+    public List<TreeNode<T>> childrenOf(ID id) { return tree.childrenOf(id); }
+
+    /** Nodes in the subtree including the node itself, 0 for unknown ids */
+    public int subtreeSize(ID id) {
+        TreeNode<T> node = tree.get(id);
+        return node == null ? 0 : sizeOf(node);
+    }
+
+    /**
+     * Depth of the node (roots are 0), -1 for unknown ids
+     *
+     * @throws IllegalArgumentException if the node's parent links form a cycle
+     */
+    public int depth(ID id) {
+        TreeNode<T> node = tree.get(id);
+        if (node == null) return -1;
+        int depth = 0;
+        for (TreeNode<T> p = node.getParent(); p != null; p = p.getParent()) checkSteps(++depth, id);
+        return depth;
+    }
+
+    // -----------------------------
+    // Mutations
+    // -----------------------------
+
+    /** Inserts a leaf under the item's parent id; a null or unknown parent id makes it a root */
+    public TreeNode<T> insert(T item) {
+        return insert(item, parentIdFunc.apply(item));
+    }
+
+    public TreeNode<T> insert(T item, ID parentId) {
+        ID id = tree.getIdFunc().apply(item);
+        if (tree.contains(id)) throw new IllegalArgumentException("Duplicate id: " + id);
+
+        TreeNode<T> node = new TreeNode<>(item);
+        tree.index().put(id, node);
+        subtreeSizes.put(node, new int[]{1});
+        attach(node, parentId == null ? null : tree.get(parentId));
+        return node;
+    }
+
+    /** Removes the node and its whole subtree; returns the detached subtree root, or null for unknown ids */
+    public TreeNode<T> remove(ID id) {
+        TreeNode<T> node = tree.get(id);
+        if (node == null) return null;
+
+        detach(node);
+        Function<T, ID> idFunc = tree.getIdFunc();
+        Map<ID, TreeNode<T>> index = tree.index();
+        TreeWalker.preOrder(Collections.singletonList(node), n -> {
+            // a duplicate id shadowed by a node elsewhere in the tree must not unindex that node
+            ID nodeId = idFunc.apply(n.getData());
+            if (index.get(nodeId) == n) index.remove(nodeId);
+            subtreeSizes.remove(n);
+        });
+        return node;
+    }
+
+    /**
+     * Moves the node (with its subtree) under a new parent, or to the roots when {@code newParentId} is null.
+     * The node data is not touched, so its own parent id field is the caller's concern.
+     *
+     * @throws NoSuchElementException if either id is unknown
+     * @throws IllegalArgumentException if the new parent is the node itself or one of its descendants, or if
+     *                                  the new parent's ancestor links form a cycle
+     */
+    public void move(ID id, ID newParentId) {
+        TreeNode<T> node = tree.get(id);
+        if (node == null) throw new NoSuchElementException("Unknown id: " + id);
+        TreeNode<T> newParent = null;
+        if (newParentId != null) {
+            newParent = tree.get(newParentId);
+            if (newParent == null) throw new NoSuchElementException("Unknown parent id: " + newParentId);
+            int steps = 0;
+            for (TreeNode<T> p = newParent; p != null; p = p.getParent()) {
+                checkSteps(++steps, newParentId);
+                if (p == node) throw new IllegalArgumentException("Moving " + id + " under " + newParentId + " would create a cycle");
+            }
+        }
+        if (node.getParent() == newParent) return;
+
+        detach(node);
+        attach(node, newParent);
+    }
+
+    /**
+     * Replaces the data of a node in place: same position among its siblings, same children and subtree
+     * size. {@link TreeNode} data is final, so the node object itself is swapped for a new one.
+     *
+     * @return the new node
+     * @throws NoSuchElementException if the id is unknown
+     * @throws IllegalArgumentException if the new item has a different id
+     */
+    public TreeNode<T> replace(ID id, T item) {
+        TreeNode<T> old = tree.get(id);
+        if (old == null) throw new NoSuchElementException("Unknown id: " + id);
+        if (!Objects.equals(tree.getIdFunc().apply(item), id)) throw new IllegalArgumentException("Item id differs from " + id);
+
+        TreeNode<T> node = new TreeNode<>(item);
+        for (TreeNode<T> child : old.getChildren()) node.addChild(child);
+        old.getChildren().clear();
+
+        TreeNode<T> parent = old.getParent();
+        List<TreeNode<T>> siblings = parent == null ? tree.getRoots() : parent.getChildren();
+        for (int i = 0; i < siblings.size(); i++) {
+            if (siblings.get(i) == old) {
+                siblings.set(i, node);
+                break;
+            }
+        }
+        node.setParent(parent);
+        old.setParent(null);
+
+        tree.index().put(id, node);
+        int[] size = subtreeSizes.remove(old);
+        if (size != null) subtreeSizes.put(node, size);
+        return node;
+    }
+
+    private void attach(TreeNode<T> node, TreeNode<T> parent) {
+        if (parent == null) {
+            tree.getRoots().add(node);
+        } else {
+            parent.addChild(node);
+            addToAncestors(parent, sizeOf(node));
+        }
+    }
+
+    private void detach(TreeNode<T> node) {
+        TreeNode<T> parent = node.getParent();
+        if (parent == null) {
+            removeRoot(node);
+        } else {
+            parent.removeChild(node);
+            addToAncestors(parent, -sizeOf(node));
+        }
+    }
+
+    private void addToAncestors(TreeNode<T> from, int delta) {
+        int steps = 0;
+        for (TreeNode<T> p = from; p != null; p = p.getParent()) {
+            checkSteps(++steps, tree.idOf(from));
+            int[] size = subtreeSizes.get(p);
+            if (size != null) size[0] += delta;
+        }
+    }
+
+    /**
+     * Bounds a walk up the parent links: no chain is longer than the node count, so more steps mean the
+     * links form a cycle (e.g. a parent-id cycle in the input) and the walk would never end.
+     */
+    private void checkSteps(int steps, ID from) {
+        if (steps > subtreeSizes.size()) throw new IllegalArgumentException("Cycle in parent links above " + from);
+    }
+
+    /** Nodes unreachable from the roots (parent-id cycles in the input) have no recorded size */
+    private int sizeOf(TreeNode<T> node) {
+        int[] size = subtreeSizes.get(node);
+        return size == null ? 0 : size[0];
+    }
+
+    private void removeRoot(TreeNode<T> node) {
+        List<TreeNode<T>> roots = tree.getRoots();
+        for (int i = 0; i < roots.size(); i++) {
+            if (roots.get(i) == node) {
+                roots.remove(i);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.leratortech.toolkit.tree;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Pruned view of a forest: the nodes matching a predicate plus all their ancestors.
+ * <p>
+ * Nothing is copied: the view is a {@link BitSet} over the pre-order positions of a
+ * {@link TreeIntervalIndex}, filled in one backward (children before parents) pass, and it hands out
+ * the original nodes. Use {@link #childrenOf} instead of {@link TreeNode#getChildren}, which still
+ * returns the unfiltered children. Like the index, the view is a snapshot of the tree.
+ */
+public final class PrunedTree<T> {
+
+    private final TreeIntervalIndex<T> index;
+    private final BitSet matched;
+    private final BitSet kept;
+
+    private PrunedTree(TreeIntervalIndex<T> index, BitSet matched) {
+        this.index = index;
+        this.matched = matched;
+        this.kept = (BitSet) matched.clone();
+        for (int i = kept.previousSetBit(index.size() - 1); i >= 0; i = kept.previousSetBit(i - 1)) {
+            int p = index.parentIndex(i);
+            if (p >= 0) kept.set(p);
+        }
+    }
+
+    public static <T> PrunedTree<T> of(List<TreeNode<T>> roots, Predicate<TreeNode<T>> predicate) {
+        return of(TreeIntervalIndex.of(roots), predicate);
+    }
+
+    public static <T> PrunedTree<T> of(TreeIntervalIndex<T> index, Predicate<TreeNode<T>> predicate) {
+        int n = index.size();
+        BitSet matched = new BitSet(n);
+        for (int i = 0; i < n; i++) {
+            if (predicate.test(index.nodeAt(i))) matched.set(i);
+        }
+        return new PrunedTree<>(index, matched);
+    }
+
+    /** Same as {@link #of(TreeIntervalIndex, Predicate)} with the predicate evaluated on {@code pool}; it must be thread-safe */
+    public static <T> PrunedTree<T> ofParallel(TreeIntervalIndex<T> index, Predicate<TreeNode<T>> predicate, ForkJoinPool pool) {
+        int n = index.size();
+        boolean[] hits = new boolean[n];
+        RangeTask.run(pool, n, i -> hits[i] = predicate.test(index.nodeAt(i)));
+        BitSet matched = new BitSet(n);
+        for (int i = 0; i < n; i++) {
+            if (hits[i]) matched.set(i);
+        }
+        return new PrunedTree<>(index, matched);
+    }
+
+    public TreeIntervalIndex<T> intervals() { return index; }
+
+    /** Number of nodes in the view */
+    public int size() { return kept.cardinality(); }
+
+    public boolean isEmpty() { return kept.isEmpty(); }
+
+    public boolean contains(TreeNode<T> node) {
+        int i = index.indexOf(node);
+        return i >= 0 && kept.get(i);
+    }
+
+    /** True if the node itself matched, false if it is only kept as an ancestor of a match */
+    public boolean isMatch(TreeNode<T> node) {
+        int i = index.indexOf(node);
+        return i >= 0 && matched.get(i);
+    }
+
+    public List<TreeNode<T>> getRoots() {
+        List<TreeNode<T>> roots = new ArrayList<>();
+        // a kept node's ancestors are kept, so the first kept node of each root subtree is its root
+        for (int i = kept.nextSetBit(0); i >= 0; i = kept.nextSetBit(index.subtreeEnd(i))) roots.add(index.nodeAt(i));
+        return roots;
+    }
+
+    /** Kept children of the node, in the original order; empty if the node is not in the view */
+    public List<TreeNode<T>> childrenOf(TreeNode<T> node) {
+        int i = index.indexOf(node);
+        if (i < 0 || !kept.get(i)) return Collections.emptyList();
+        List<TreeNode<T>> children = new ArrayList<>();
+        int end = index.subtreeEnd(i);
+        for (int c = kept.nextSetBit(i + 1); c >= 0 && c < end; c = kept.nextSetBit(index.subtreeEnd(c))) {
+            children.add(index.nodeAt(c));
+        }
+        return children;
+    }
+
+    /** Kept nodes in pre-order */
+    public List<TreeNode<T>> flatten() {
+        List<TreeNode<T>> result = new ArrayList<>(kept.cardinality());
+        for (int i = kept.nextSetBit(0); i >= 0; i = kept.nextSetBit(i + 1)) result.add(index.nodeAt(i));
+        return result;
+    }
+
+    /** Pre-order over the view with the original depths; returns false if the visitor stopped early */
+    public boolean walk(TreeWalker.Visitor<T> visitor) {
+        for (int i = kept.nextSetBit(0); i >= 0; i = kept.nextSetBit(i + 1)) {
+            if (!visitor.visit(index.nodeAt(i), index.depthAt(i))) return false;
+        }
+        return true;
+    }
+
+    /** Materialises the view as new {@link TreeNode}s sharing the original data, e.g. for serialization */
+    @SuppressWarnings("unchecked")
+    public List<TreeNode<T>> toTreeNodes() {
+        TreeNode<T>[] copies = new TreeNode[index.size()];
+        List<TreeNode<T>> roots = new ArrayList<>();
+        for (int i = kept.nextSetBit(0); i >= 0; i = kept.nextSetBit(i + 1)) {
+            copies[i] = new TreeNode<>(index.nodeAt(i).getData());
+            int p = index.parentIndex(i);
+            if (p < 0) roots.add(copies[i]);
+            else copies[p].addChild(copies[i]);
+        }
+        return roots;
+    }
+}
@@ -0,0 +1,45 @@
+package com.leratortech.toolkit.tree;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs {@code body} for every index of a range, split in halves across a ForkJoinPool
+ */
+final class RangeTask extends RecursiveAction {
+
+    private static final int MIN_CHUNK = 1024;
+
+    private final int from;
+    private final int to;
+    private final int threshold;
+    private final IntConsumer body;
+
+    private RangeTask(int from, int to, int threshold, IntConsumer body) {
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+        this.body = body;
+    }
+
+    static void run(ForkJoinPool pool, int size, IntConsumer body) {
+        if (size <= 0) return;
+        int threshold = Math.max(MIN_CHUNK, size / (pool.getParallelism() * 8));
+        if (size <= threshold) {
+            for (int i = 0; i < size; i++) body.accept(i);
+            return;
+        }
+        pool.invoke(new RangeTask(0, size, threshold, body));
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= threshold) {
+            for (int i = from; i < to; i++) body.accept(i);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(new RangeTask(from, mid, threshold, body), new RangeTask(mid, to, threshold, body));
+    }
+}
@@ -0,0 +1,104 @@
+package com.leratortech.toolkit.tree;
+
+import java.util.List;
+
+/**
+ * Lowest-common-ancestor and level-ancestor queries by binary lifting.
+ * <p>
+ * {@code up[k][i]} is the 2^k-th ancestor of pre-order position {@code i}. Together with the
+ * {@link TreeIntervalIndex} ancestor check this gives O(log depth) LCA and k-th ancestor queries
+ * without allocating per query. Built once (O(n log depth)); rebuild after the tree is modified.
+ */
+public final class TreeAncestorIndex<T> {
+
+    private final TreeIntervalIndex<T> intervals;
+    private final int[][] up;
+
+    private TreeAncestorIndex(TreeIntervalIndex<T> intervals, int[][] up) {
+        this.intervals = intervals;
+        this.up = up;
+    }
+
+    public static <T> TreeAncestorIndex<T> of(List<TreeNode<T>> roots) {
+        return of(TreeIntervalIndex.of(roots));
+    }
+
+    public static <T> TreeAncestorIndex<T> of(TreeIntervalIndex<T> intervals) {
+        int n = intervals.size();
+        int maxDepth = 0;
+        for (int i = 0; i < n; i++) maxDepth = Math.max(maxDepth, intervals.depthAt(i));
+        int levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(maxDepth));
+
+        int[][] up = new int[levels][n];
+        for (int i = 0; i < n; i++) up[0][i] = intervals.parentIndex(i);
+        for (int k = 1; k < levels; k++) {
+            int[] prev = up[k - 1];
+            int[] cur = up[k];
+            for (int i = 0; i < n; i++) {
+                int mid = prev[i];
+                cur[i] = mid < 0 ? -1 : prev[mid];
+            }
+        }
+        return new TreeAncestorIndex<>(intervals, up);
+    }
+
+    public TreeIntervalIndex<T> intervals() { return intervals; }
+
+    /** LCA of two pre-order positions, or -1 if they are in different trees of the forest */
+    public int lca(int a, int b) {
+        if (isAncestorOrSelf(a, b)) return a;
+        if (isAncestorOrSelf(b, a)) return b;
+        for (int k = up.length - 1; k >= 0; k--) {
+            int candidate = up[k][a];
+            if (candidate >= 0 && !isAncestorOrSelf(candidate, b)) a = candidate;
+        }
+        return up[0][a];
+    }
+
+    /** Lowest common ancestor (a node is its own ancestor here), or null if none / not indexed */
+    public TreeNode<T> lowestCommonAncestor(TreeNode<T> a, TreeNode<T> b) {
+        int i = intervals.indexOf(a);
+        int j = intervals.indexOf(b);
+        if (i < 0 || j < 0) return null;
+        int lca = lca(i, j);
+        return lca < 0 ? null : intervals.nodeAt(lca);
+    }
+
+    /** Position of the k-th ancestor (k = 0 is the node itself), or -1 if the node is shallower than k */
+    public int levelAncestor(int index, int k) {
+        if (k < 0 || k > intervals.depthAt(index)) return -1;
+        for (int bit = 0; k != 0; bit++, k >>>= 1) {
+            if ((k & 1) != 0) index = up[bit][index];
+        }
+        return index;
+    }
+
+    public TreeNode<T> kthAncestor(TreeNode<T> node, int k) {
+        int i = intervals.indexOf(node);
+        if (i < 0) return null;
+        int ancestor = levelAncestor(i, k);
+        return ancestor < 0 ? null : intervals.nodeAt(ancestor);
+    }
+
+    /** Ancestor-or-self at the given depth (0 = root of the node's tree), or null */
+    public TreeNode<T> ancestorAtDepth(TreeNode<T> node, int depth) {
+        int i = intervals.indexOf(node);
+        if (i < 0 || depth < 0) return null;
+        int ancestor = levelAncestor(i, intervals.depthAt(i) - depth);
+        return ancestor < 0 ? null : intervals.nodeAt(ancestor);
+    }
+
+    /** Number of edges on the path between two nodes, or -1 if they are not connected */
+    public int distance(TreeNode<T> a, TreeNode<T> b) {
+        int i = intervals.indexOf(a);
+        int j = intervals.indexOf(b);
+        if (i < 0 || j < 0) return -1;
+        int lca = lca(i, j);
+        if (lca < 0) return -1;
+        return intervals.depthAt(i) + intervals.depthAt(j) - 2 * intervals.depthAt(lca);
+    }
+
+    private boolean isAncestorOrSelf(int ancestor, int node) {
+        return ancestor <= node && node < intervals.subtreeEnd(ancestor);
+    }
+}
@@ -0,0 +1,38 @@
+package com.leratortech.toolkit.tree;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a streaming build ({@link TreeBuilder#buildFrom}): the tree plus the input problems found.
+ * <p>
+ * - orphans: nodes whose parent id never arrived; they are also roots of the tree
+ * - cycles: nodes not reachable from any root (on a parent-id cycle or hanging below one); they stay
+ *   in the id index but must not be walked, their parent links loop
+ * - duplicates: items whose id was already taken; the first item keeps the id, these are dropped
+ */
+public final class TreeBuildResult<T, ID> {
+
+    private final IndexedTree<T, ID> tree;
+    private final List<TreeNode<T>> orphans;
+    private final List<TreeNode<T>> cycles;
+    private final List<T> duplicates;
+
+    TreeBuildResult(IndexedTree<T, ID> tree, List<TreeNode<T>> orphans, List<TreeNode<T>> cycles, List<T> duplicates) {
+        this.tree = tree;
+        this.orphans = Collections.unmodifiableList(orphans);
+        this.cycles = Collections.unmodifiableList(cycles);
+        this.duplicates = Collections.unmodifiableList(duplicates);
+    }
+
+    public IndexedTree<T, ID> getTree() { return tree; }
+    public List<TreeNode<T>> getRoots() { return tree.getRoots(); }
+    public List<TreeNode<T>> getOrphans() { return orphans; }
+    public List<TreeNode<T>> getCycles() { return cycles; }
+    public List<T> getDuplicates() { return duplicates; }
+
+    /** True if the input was a clean forest: no orphans, cycles or duplicate ids */
+    public boolean isClean() {
+        return orphans.isEmpty() && cycles.isEmpty() && duplicates.isEmpty();
+    }
+}
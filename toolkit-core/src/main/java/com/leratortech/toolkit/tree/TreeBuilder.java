@@ -1,7 +1,12 @@
 package com.leratortech.toolkit.tree;
 
+import com.leratortech.toolkit.collection.LongObjectMap;
+
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 /**
  * Build tree from flat list
@@ -16,22 +21,241 @@ public final class TreeBuilder {
             Function<T, ID> parentIdFunc
     ) {
         if (items == null || items.isEmpty()) return Collections.emptyList();
+        return buildIndexedTree(items, idFunc, parentIdFunc).getRoots();
+    }
+
+    /**
+     * Same as {@link #buildTree} but keeps the id index, so later lookups by id are O(1).
+     * Items whose parent id is null or unknown become roots. With duplicate ids the last item wins the index slot.
+     */
+    public static <T, ID> IndexedTree<T, ID> buildIndexedTree(
+            List<T> items,
+            Function<T, ID> idFunc,
+            Function<T, ID> parentIdFunc
+    ) {
+        if (items == null || items.isEmpty()) {
+            return new IndexedTree<>(new ArrayList<>(), new HashMap<>(), idFunc);
+        }
 
-        Map<ID, TreeNode<T>> nodeMap = new HashMap<>();
+        int size = items.size();
+        Map<ID, TreeNode<T>> nodeMap = new HashMap<>(capacity(size));
         List<TreeNode<T>> roots = new ArrayList<>();
 
-        for (T item : items) nodeMap.put(idFunc.apply(item), new TreeNode<>(item));
+        // idFunc is applied once per item; nodes are kept by position for the link pass
+        List<TreeNode<T>> nodes = new ArrayList<>(size);
+        for (T item : items) {
+            TreeNode<T> node = new TreeNode<>(item);
+            nodes.add(node);
+            nodeMap.put(idFunc.apply(item), node);
+        }
+
+        for (TreeNode<T> node : nodes) {
+            ID parentId = parentIdFunc.apply(node.getData());
+            TreeNode<T> parentNode = parentId == null ? null : nodeMap.get(parentId);
+            if (parentNode == null) {
+                roots.add(node);
+            } else {
+                parentNode.addChild(node);
+            }
+        }
+        return new IndexedTree<>(roots, nodeMap, idFunc);
+    }
+
+    /**
+     * Same as {@link #buildTree} for primitive {@code long} ids: the index is a {@link LongObjectMap}, so no
+     * id is boxed and there are no map entry objects. Items whose parent id is not the id of any item become
+     * roots, so map a null parent to an id no item uses (e.g. 0). With duplicate ids the last item wins.
+     */
+    public static <T> List<TreeNode<T>> buildTreeByLongId(
+            List<T> items,
+            ToLongFunction<T> idFunc,
+            ToLongFunction<T> parentIdFunc
+    ) {
+        if (items == null || items.isEmpty()) return Collections.emptyList();
 
+        int size = items.size();
+        LongObjectMap<TreeNode<T>> nodeMap = new LongObjectMap<>(size);
+        List<TreeNode<T>> nodes = new ArrayList<>(size);
         for (T item : items) {
-            TreeNode<T> node = nodeMap.get(idFunc.apply(item));
-            ID parentId = parentIdFunc.apply(item);
-            if (parentId == null || !nodeMap.containsKey(parentId)) {
+            TreeNode<T> node = new TreeNode<>(item);
+            nodes.add(node);
+            nodeMap.put(idFunc.applyAsLong(item), node);
+        }
+
+        List<TreeNode<T>> roots = new ArrayList<>();
+        for (TreeNode<T> node : nodes) {
+            TreeNode<T> parentNode = nodeMap.get(parentIdFunc.applyAsLong(node.getData()));
+            if (parentNode == null) {
                 roots.add(node);
             } else {
-                TreeNode<T> parentNode = nodeMap.get(parentId);
                 parentNode.addChild(node);
             }
         }
         return roots;
     }
+
+    public static <T, ID> List<TreeNode<T>> buildTreeParallel(
+            List<T> items,
+            Function<T, ID> idFunc,
+            Function<T, ID> parentIdFunc
+    ) {
+        if (items == null || items.isEmpty()) return Collections.emptyList();
+        return buildIndexedTreeParallel(items, idFunc, parentIdFunc, ForkJoinPool.commonPool()).getRoots();
+    }
+
+    /**
+     * Parallel variant of {@link #buildIndexedTree} for very large inputs.
+     * <p>
+     * The id-index phase (node creation, {@code idFunc}, index insert) and the parent lookup phase
+     * ({@code parentIdFunc}, index get) are partitioned across {@code pool}. Children are then attached
+     * in one cheap pass in input order, so the result (child order, roots, last-wins duplicates) is
+     * identical to the sequential build. Both functions must be thread-safe and ids must be non-null.
+     */
+    public static <T, ID> IndexedTree<T, ID> buildIndexedTreeParallel(
+            List<T> items,
+            Function<T, ID> idFunc,
+            Function<T, ID> parentIdFunc,
+            ForkJoinPool pool
+    ) {
+        if (items == null || items.isEmpty()) {
+            return new IndexedTree<>(new ArrayList<>(), new HashMap<>(), idFunc);
+        }
+        List<T> source = items instanceof RandomAccess ? items : new ArrayList<>(items);
+        int size = source.size();
+
+        @SuppressWarnings("unchecked")
+        TreeNode<T>[] nodes = new TreeNode[size];
+        Object[] ids = new Object[size];
+        ConcurrentHashMap<ID, TreeNode<T>> nodeMap = new ConcurrentHashMap<>(size);
+        Set<ID> duplicates = ConcurrentHashMap.newKeySet();
+
+        RangeTask.run(pool, size, i -> {
+            T item = source.get(i);
+            ID id = Objects.requireNonNull(idFunc.apply(item), "Parallel tree build requires non-null ids");
+            TreeNode<T> node = new TreeNode<>(item);
+            nodes[i] = node;
+            ids[i] = id;
+            if (nodeMap.putIfAbsent(id, node) != null) duplicates.add(id);
+        });
+
+        // same last-wins rule as the sequential build; only walks the input when duplicates exist
+        if (!duplicates.isEmpty()) {
+            for (int i = 0; i < size; i++) {
+                @SuppressWarnings("unchecked") ID id = (ID) ids[i];
+                if (duplicates.contains(id)) nodeMap.put(id, nodes[i]);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        TreeNode<T>[] parents = new TreeNode[size];
+        RangeTask.run(pool, size, i -> {
+            ID parentId = parentIdFunc.apply(nodes[i].getData());
+            if (parentId != null) parents[i] = nodeMap.get(parentId);
+        });
+
+        List<TreeNode<T>> roots = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (parents[i] == null) {
+                roots.add(nodes[i]);
+            } else {
+                parents[i].addChild(nodes[i]);
+            }
+        }
+        return new IndexedTree<>(roots, nodeMap, idFunc);
+    }
+
+    /**
+     * Single-pass build from a cursor / iterator, in any order, without materialising the input list.
+     * <p>
+     * A child that arrives before its parent waits in a pending-children map keyed by parent id and is
+     * attached (in arrival order) when the parent shows up. Nodes whose parent never arrives are
+     * reported as orphans and appended to the roots after the null-parent roots (grouped by missing
+     * parent id, in arrival order). Unlike
+     * {@link #buildIndexedTree}, the first item wins on duplicate ids, since later items cannot replace
+     * a node that already has children.
+     */
+    public static <T, ID> TreeBuildResult<T, ID> buildFrom(
+            Iterator<T> items,
+            Function<T, ID> idFunc,
+            Function<T, ID> parentIdFunc
+    ) {
+        StreamingBuild<T, ID> build = new StreamingBuild<>(idFunc, parentIdFunc);
+        if (items != null) items.forEachRemaining(build::accept);
+        return build.finish();
+    }
+
+    /** Same as {@link #buildFrom(Iterator, Function, Function)}; the stream is consumed in encounter order, not closed */
+    public static <T, ID> TreeBuildResult<T, ID> buildFrom(
+            java.util.stream.Stream<T> items,
+            Function<T, ID> idFunc,
+            Function<T, ID> parentIdFunc
+    ) {
+        StreamingBuild<T, ID> build = new StreamingBuild<>(idFunc, parentIdFunc);
+        if (items != null) items.forEachOrdered(build::accept);
+        return build.finish();
+    }
+
+    private static final class StreamingBuild<T, ID> {
+        private final Function<T, ID> idFunc;
+        private final Function<T, ID> parentIdFunc;
+        private final Map<ID, TreeNode<T>> index = new HashMap<>();
+        private final Map<ID, List<TreeNode<T>>> pending = new LinkedHashMap<>();
+        private final List<TreeNode<T>> roots = new ArrayList<>();
+        private final List<T> duplicates = new ArrayList<>();
+
+        StreamingBuild(Function<T, ID> idFunc, Function<T, ID> parentIdFunc) {
+            this.idFunc = idFunc;
+            this.parentIdFunc = parentIdFunc;
+        }
+
+        void accept(T item) {
+            ID id = idFunc.apply(item);
+            if (index.containsKey(id)) {
+                duplicates.add(item);
+                return;
+            }
+            TreeNode<T> node = new TreeNode<>(item);
+            index.put(id, node);
+
+            List<TreeNode<T>> waiting = pending.remove(id);
+            if (waiting != null) {
+                for (TreeNode<T> child : waiting) node.addChild(child);
+            }
+
+            ID parentId = parentIdFunc.apply(item);
+            if (parentId == null) {
+                roots.add(node);
+                return;
+            }
+            TreeNode<T> parent = index.get(parentId);
+            if (parent != null) {
+                parent.addChild(node);
+            } else {
+                pending.computeIfAbsent(parentId, k -> new ArrayList<>(2)).add(node);
+            }
+        }
+
+        TreeBuildResult<T, ID> finish() {
+            List<TreeNode<T>> orphans = new ArrayList<>();
+            for (List<TreeNode<T>> waiting : pending.values()) orphans.addAll(waiting);
+            pending.clear();
+            roots.addAll(orphans);
+
+            // everything not reachable from a root sits on (or below) a parent-id cycle
+            List<TreeNode<T>> cycles = new ArrayList<>();
+            if (TreeWalker.count(roots) != index.size()) {
+                Set<TreeNode<T>> reachable = Collections.newSetFromMap(new IdentityHashMap<>(index.size()));
+                TreeWalker.preOrder(roots, reachable::add);
+                for (TreeNode<T> node : index.values()) {
+                    if (!reachable.contains(node)) cycles.add(node);
+                }
+            }
+            return new TreeBuildResult<>(new IndexedTree<>(roots, index, idFunc), orphans, cycles, duplicates);
+        }
+    }
+
+    /** HashMap capacity that holds {@code expected} entries without rehashing */
+    static int capacity(int expected) {
+        return expected < 3 ? expected + 1 : (int) (expected / 0.75f) + 1;
+    }
 }
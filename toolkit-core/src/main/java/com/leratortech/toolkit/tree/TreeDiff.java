@@ -0,0 +1,72 @@
+package com.leratortech.toolkit.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Diff of two versions of an indexed tree, keyed by id, in O(n) using the id indexes.
+ * <p>
+ * The edit script lists, in the new tree's pre-order, ADDED / MOVED / UPDATED nodes (a node can be both
+ * MOVED and UPDATED), followed by REMOVED nodes. REMOVED is emitted only for the topmost removed node
+ * of each removed branch; surviving descendants of that branch show up as MOVED. Applied in order
+ * with {@link #apply}, every parent exists before its children are inserted or moved, and no move can
+ * create a cycle. Sibling order is not compared.
+ */
+public final class TreeDiff {
+
+    private TreeDiff() {}
+
+    /** Data changes are detected with {@link Objects#equals} */
+    public static <T, ID> List<TreeEdit<T, ID>> diff(IndexedTree<T, ID> oldTree, IndexedTree<T, ID> newTree) {
+        return diff(oldTree, newTree, Objects::equals);
+    }
+
+    public static <T, ID> List<TreeEdit<T, ID>> diff(IndexedTree<T, ID> oldTree, IndexedTree<T, ID> newTree,
+                                                     BiPredicate<? super T, ? super T> sameData) {
+        List<TreeEdit<T, ID>> edits = new ArrayList<>();
+        Function<T, ID> idFunc = newTree.getIdFunc();
+
+        TreeWalker.preOrder(newTree.getRoots(), node -> {
+            T data = node.getData();
+            ID id = idFunc.apply(data);
+            TreeNode<T> parent = node.getParent();
+            ID parentId = parent == null ? null : idFunc.apply(parent.getData());
+
+            TreeNode<T> old = oldTree.get(id);
+            if (old == null) {
+                edits.add(TreeEdit.added(id, parentId, data));
+                return;
+            }
+            ID oldParentId = oldTree.parentIdOf(id);
+            if (!Objects.equals(parentId, oldParentId)) edits.add(TreeEdit.moved(id, parentId, oldParentId, data));
+            if (!sameData.test(old.getData(), data)) edits.add(TreeEdit.updated(id, parentId, data, old.getData()));
+        });
+
+        TreeWalker.preOrder(oldTree.getRoots(), node -> {
+            ID id = oldTree.idOf(node);
+            if (newTree.contains(id)) return;
+            ID parentId = oldTree.parentIdOf(id);
+            // a removed parent already covers this node
+            if (parentId == null || newTree.contains(parentId)) edits.add(TreeEdit.removed(id, parentId, node.getData()));
+        });
+        return edits;
+    }
+
+    /**
+     * Patches {@code target} (a copy of the old tree) with an edit script from {@link #diff}, so it ends
+     * up with the new tree's nodes, parents and data. New children are appended to their parent.
+     */
+    public static <T, ID> void apply(MutableTree<T, ID> target, List<TreeEdit<T, ID>> edits) {
+        for (TreeEdit<T, ID> edit : edits) {
+            switch (edit.type()) {
+                case ADDED -> target.insert(edit.data(), edit.parentId());
+                case MOVED -> target.move(edit.id(), edit.parentId());
+                case UPDATED -> target.replace(edit.id(), edit.data());
+                case REMOVED -> target.remove(edit.id());
+            }
+        }
+    }
+}
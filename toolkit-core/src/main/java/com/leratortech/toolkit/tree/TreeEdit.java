@@ -0,0 +1,31 @@
+package com.leratortech.toolkit.tree;
+
+/**
+ * One step of a {@link TreeDiff} edit script.
+ * <p>
+ * - ADDED: {@code data} inserted under {@code parentId}
+ * - REMOVED: node (with what is left of its old subtree) removed; {@code data} is the old data,
+ *   {@code parentId} its old parent
+ * - MOVED: node re-parented from {@code oldParentId} to {@code parentId}
+ * - UPDATED: data changed from {@code oldData} to {@code data}, position unchanged
+ */
+public record TreeEdit<T, ID>(Type type, ID id, ID parentId, ID oldParentId, T data, T oldData) {
+
+    public enum Type { ADDED, REMOVED, MOVED, UPDATED }
+
+    static <T, ID> TreeEdit<T, ID> added(ID id, ID parentId, T data) {
+        return new TreeEdit<>(Type.ADDED, id, parentId, null, data, null);
+    }
+
+    static <T, ID> TreeEdit<T, ID> removed(ID id, ID parentId, T data) {
+        return new TreeEdit<>(Type.REMOVED, id, parentId, null, data, null);
+    }
+
+    static <T, ID> TreeEdit<T, ID> moved(ID id, ID parentId, ID oldParentId, T data) {
+        return new TreeEdit<>(Type.MOVED, id, parentId, oldParentId, data, null);
+    }
+
+    static <T, ID> TreeEdit<T, ID> updated(ID id, ID parentId, T data, T oldData) {
+        return new TreeEdit<>(Type.UPDATED, id, parentId, null, data, oldData);
+    }
+}
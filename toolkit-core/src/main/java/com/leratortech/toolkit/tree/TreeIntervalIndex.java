@@ -0,0 +1,164 @@
+package com.leratortech.toolkit.tree;
+
+import java.util.*;
+
+/**
+ * Nested-set (pre-order interval) labelling of a tree forest.
+ * <p>
+ * Each node gets its pre-order position {@code i}; its subtree is the contiguous slice {@code [i, end(i))}
+ * of the flat pre-order array. This gives:
+ * - O(1) ancestor checks: {@code a} is an ancestor of {@code b} iff {@code a < b < end(a)}
+ * - subtrees / descendants as zero-copy list views
+ * - subtree sizes for free
+ * <p>
+ * Built once with an explicit stack; it is a snapshot, rebuild it after the tree is modified.
+ */
+public final class TreeIntervalIndex<T> {
+
+    private final TreeNode<T>[] order;
+    private final int[] end;
+    private final int[] parent;
+    private final int[] depth;
+    private final Map<TreeNode<T>, Integer> positions;
+    private final List<TreeNode<T>> orderView;
+
+    private TreeIntervalIndex(TreeNode<T>[] order, int[] end, int[] parent, int[] depth, Map<TreeNode<T>, Integer> positions) {
+        this.order = order;
+        this.end = end;
+        this.parent = parent;
+        this.depth = depth;
+        this.positions = positions;
+        this.orderView = Collections.unmodifiableList(Arrays.asList(order));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> TreeIntervalIndex<T> of(List<TreeNode<T>> roots) {
+        List<TreeNode<T>> ordered = new ArrayList<>();
+        Map<TreeNode<T>, Integer> positions = new IdentityHashMap<>();
+        int[] parent = new int[16];
+        int[] depth = new int[16];
+
+        if (roots != null) {
+            // explicit stack of (node, parent position); children pushed in reverse to keep pre-order
+            TreeNode<T>[] stack = new TreeNode[16];
+            int[] stackParent = new int[16];
+            int top = 0;
+            for (int r = roots.size() - 1; r >= 0; r--) {
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, top * 2);
+                    stackParent = Arrays.copyOf(stackParent, top * 2);
+                }
+                stack[top] = roots.get(r);
+                stackParent[top++] = -1;
+            }
+            while (top > 0) {
+                TreeNode<T> node = stack[--top];
+                int p = stackParent[top];
+                stack[top] = null;
+                if (node == null) continue;
+
+                int i = ordered.size();
+                if (positions.put(node, i) != null) {
+                    throw new IllegalStateException("Node reachable twice (cycle or shared child): " + node);
+                }
+                ordered.add(node);
+                if (i == parent.length) {
+                    parent = Arrays.copyOf(parent, i * 2);
+                    depth = Arrays.copyOf(depth, i * 2);
+                }
+                parent[i] = p;
+                depth[i] = p < 0 ? 0 : depth[p] + 1;
+
+                List<TreeNode<T>> children = node.getChildren();
+                int needed = top + children.size();
+                if (needed > stack.length) {
+                    int length = Math.max(needed, stack.length * 2);
+                    stack = Arrays.copyOf(stack, length);
+                    stackParent = Arrays.copyOf(stackParent, length);
+                }
+                for (int c = children.size() - 1; c >= 0; c--) {
+                    stack[top] = children.get(c);
+                    stackParent[top++] = i;
+                }
+            }
+        }
+
+        int n = ordered.size();
+        parent = Arrays.copyOf(parent, n);
+        depth = Arrays.copyOf(depth, n);
+
+        // subtree sizes bottom-up: children always sit after their parent in pre-order
+        int[] end = new int[n];
+        for (int i = n - 1; i >= 0; i--) {
+            end[i] += 1;
+            if (parent[i] >= 0) end[parent[i]] += end[i];
+        }
+        for (int i = 0; i < n; i++) end[i] += i;
+
+        return new TreeIntervalIndex<>(ordered.toArray(new TreeNode[0]), end, parent, depth, positions);
+    }
+
+    public int size() { return order.length; }
+
+    /** All indexed nodes in pre-order (read-only view) */
+    public List<TreeNode<T>> nodes() { return orderView; }
+
+    /** Pre-order position of the node, or -1 if it is not part of this index */
+    public int indexOf(TreeNode<T> node) {
+        Integer i = node == null ? null : positions.get(node);
+        return i == null ? -1 : i;
+    }
+
+    public boolean contains(TreeNode<T> node) { return indexOf(node) >= 0; }
+
+    public TreeNode<T> nodeAt(int index) { return order[index]; }
+
+    /** Pre-order position of the parent, or -1 for roots */
+    public int parentIndex(int index) { return parent[index]; }
+
+    /** Exclusive end of the subtree slice that starts at {@code index} */
+    public int subtreeEnd(int index) { return end[index]; }
+
+    public int depthAt(int index) { return depth[index]; }
+
+    /** Depth of the node (roots are 0), or -1 if not indexed */
+    public int depth(TreeNode<T> node) {
+        int i = indexOf(node);
+        return i < 0 ? -1 : depth[i];
+    }
+
+    /** Number of nodes in the subtree including the node itself, 0 if not indexed */
+    public int subtreeSize(TreeNode<T> node) {
+        int i = indexOf(node);
+        return i < 0 ? 0 : end[i] - i;
+    }
+
+    /** True if {@code ancestor} is a proper ancestor of {@code node} */
+    public boolean isAncestor(int ancestor, int node) {
+        return ancestor < node && node < end[ancestor];
+    }
+
+    public boolean isAncestor(TreeNode<T> ancestor, TreeNode<T> node) {
+        int a = indexOf(ancestor);
+        int b = indexOf(node);
+        return a >= 0 && b >= 0 && isAncestor(a, b);
+    }
+
+    public boolean isAncestorOrSelf(TreeNode<T> ancestor, TreeNode<T> node) {
+        int a = indexOf(ancestor);
+        int b = indexOf(node);
+        return a >= 0 && b >= 0 && a <= b && b < end[a];
+    }
+
+    /** The node followed by all its descendants in pre-order, as a view over the index */
+    public List<TreeNode<T>> subtree(TreeNode<T> node) {
+        int i = indexOf(node);
+        return i < 0 ? Collections.emptyList() : orderView.subList(i, end[i]);
+    }
+
+    /** All descendants of the node in pre-order, as a view over the index */
+    public List<TreeNode<T>> descendants(TreeNode<T> node) {
+        int i = indexOf(node);
+        return i < 0 ? Collections.emptyList() : orderView.subList(i + 1, end[i]);
+    }
+}
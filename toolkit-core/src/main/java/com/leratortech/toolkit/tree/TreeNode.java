@@ -27,6 +27,19 @@ public class TreeNode<T> {
         }
     }
 
+    /** Detaches the child (matched by identity); returns false if it is not a child of this node */
+    public boolean removeChild(TreeNode<T> child) {
+        if (child == null || child.parent != this) return false;
+        for (int i = 0; i < children.size(); i++) {
+            if (children.get(i) == child) {
+                children.remove(i);
+                child.setParent(null);
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public String toString() {
         return Objects.toString(data);
@@ -0,0 +1,265 @@
+package com.leratortech.toolkit.tree;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Materialised-path and name-prefix index over a tree forest, backed by two char tries.
+ * <p>
+ * - {@link #resolve}: exact path lookup, e.g. {@code "Hà Nội / Ba Đình / Phúc Xá"}
+ * - {@link #autocomplete}: nodes whose name (or any word of it) starts with a prefix, optionally
+ *   restricted to one subtree, in pre-order
+ * <p>
+ * Matching is case- and accent-insensitive ({@code "ha noi"} finds {@code "Hà Nội"}, đ matches d),
+ * ignores spaces around separators and collapses runs of whitespace. Lookups fold the query one char
+ * at a time through a precomputed table and walk the trie directly, so they allocate nothing per
+ * character. Built once; rebuild it after the tree is modified.
+ */
+public final class TreePathIndex<T> {
+
+    public static final char DEFAULT_SEPARATOR = '/';
+
+    private static final char NO_SEPARATOR = '\uFFFF';
+    private static final char[] FOLD = foldTable(0x2000);
+
+    private final TreeIntervalIndex<T> intervals;
+    private final Function<T, String> nameFunc;
+    private final char separator;
+    private final Trie paths = new Trie();
+    private final Trie names = new Trie();
+
+    private TreePathIndex(TreeIntervalIndex<T> intervals, Function<T, String> nameFunc, char separator) {
+        this.intervals = intervals;
+        this.nameFunc = nameFunc;
+        this.separator = separator;
+
+        int n = intervals.size();
+        int[] pathNode = new int[n];
+        for (int i = 0; i < n; i++) {
+            String name = normalize(nameFunc.apply(intervals.nodeAt(i).getData()));
+            int p = intervals.parentIndex(i);
+            // pre-order: the parent's path is already in the trie
+            int node = p < 0 ? Trie.ROOT : paths.childOrCreate(pathNode[p], separator);
+            for (int c = 0; c < name.length(); c++) node = paths.childOrCreate(node, name.charAt(c));
+            paths.addValue(node, i);
+            pathNode[i] = node;
+
+            // every word start is a name prefix entry point; positions arrive in ascending order
+            for (int start = 0; start < name.length(); start++) {
+                if (start > 0 && name.charAt(start - 1) != ' ') continue;
+                int t = Trie.ROOT;
+                for (int c = start; c < name.length(); c++) {
+                    t = names.childOrCreate(t, name.charAt(c));
+                    names.addValue(t, i);
+                }
+            }
+        }
+    }
+
+    public static <T> TreePathIndex<T> of(List<TreeNode<T>> roots, Function<T, String> nameFunc) {
+        return of(roots, nameFunc, DEFAULT_SEPARATOR);
+    }
+
+    public static <T> TreePathIndex<T> of(List<TreeNode<T>> roots, Function<T, String> nameFunc, char separator) {
+        return new TreePathIndex<>(TreeIntervalIndex.of(roots), nameFunc, separator);
+    }
+
+    public TreeIntervalIndex<T> intervals() { return intervals; }
+
+    // -----------------------------
+    // Lookups
+    // -----------------------------
+
+    /** Node at the given path from a root, or null; with duplicate paths the first in pre-order wins */
+    public TreeNode<T> resolve(CharSequence path) {
+        if (path == null) return null;
+        int node = walk(path, separator, paths, Trie.ROOT, null);
+        if (node <= Trie.ROOT || paths.valueCount(node) == 0) return null;
+        return intervals.nodeAt(paths.values(node)[0]);
+    }
+
+    public Optional<TreeNode<T>> find(CharSequence path) {
+        return Optional.ofNullable(resolve(path));
+    }
+
+    /** Path of a node from its root with the original names, e.g. {@code "Hà Nội / Ba Đình"} */
+    public String pathOf(TreeNode<T> node) {
+        if (node == null) return null;
+        Deque<String> segments = new ArrayDeque<>();
+        for (TreeNode<T> p = node; p != null; p = p.getParent()) segments.push(nameFunc.apply(p.getData()));
+        return String.join(" " + separator + " ", segments);
+    }
+
+    /** Nodes in the whole forest whose name or one of its words starts with {@code prefix}, in pre-order */
+    public List<TreeNode<T>> autocomplete(CharSequence prefix, int limit) {
+        return collect(prefix, 0, intervals.size(), limit);
+    }
+
+    /** Same as {@link #autocomplete(CharSequence, int)}, restricted to the subtree of {@code within} (itself included) */
+    public List<TreeNode<T>> autocomplete(CharSequence prefix, TreeNode<T> within, int limit) {
+        int from = intervals.indexOf(within);
+        if (from < 0) return Collections.emptyList();
+        return collect(prefix, from, intervals.subtreeEnd(from), limit);
+    }
+
+    private List<TreeNode<T>> collect(CharSequence prefix, int from, int to, int limit) {
+        if (prefix == null || limit <= 0) return Collections.emptyList();
+        int node = walk(prefix, NO_SEPARATOR, names, Trie.ROOT, null);
+        if (node < 0) return Collections.emptyList();
+
+        List<TreeNode<T>> result = new ArrayList<>(Math.min(limit, 16));
+        if (node == Trie.ROOT) {
+            // blank prefix: everything in range
+            for (int i = from; i < to && result.size() < limit; i++) result.add(intervals.nodeAt(i));
+            return result;
+        }
+        int[] positions = names.values(node);
+        int count = names.valueCount(node);
+        int k = Arrays.binarySearch(positions, 0, count, from);
+        for (k = k < 0 ? -k - 1 : k; k < count && positions[k] < to && result.size() < limit; k++) {
+            result.add(intervals.nodeAt(positions[k]));
+        }
+        return result;
+    }
+
+    // -----------------------------
+    // Folding
+    // -----------------------------
+
+    /** Canonical search form: lower case, accents stripped, trimmed, whitespace runs collapsed to one space */
+    public static String normalize(CharSequence text) {
+        if (text == null) return "";
+        StringBuilder out = new StringBuilder(text.length());
+        walk(text, NO_SEPARATOR, null, Trie.ROOT, out);
+        return out.toString();
+    }
+
+    /**
+     * Feeds the folded form of {@code text} either into {@code out} or down {@code trie} from {@code node}.
+     * Returns the trie node reached, or -1 as soon as there is no edge. Both modes apply the exact same
+     * rules, so the trie keys (built from {@link #normalize}) match what lookups produce.
+     */
+    private static int walk(CharSequence text, char separator, Trie trie, int node, StringBuilder out) {
+        boolean pendingSpace = false;
+        boolean segmentStart = true;
+        for (int i = 0, length = text.length(); i < length && node >= 0; i++) {
+            char c = text.charAt(i);
+            if (c == separator) {
+                pendingSpace = false;
+                segmentStart = true;
+                node = emit(separator, trie, node, out);
+                continue;
+            }
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                if (!segmentStart) pendingSpace = true;
+                continue;
+            }
+            char f = c < FOLD.length ? FOLD[c] : Character.toLowerCase(c);
+            if (f == 0) continue; // combining mark
+            if (pendingSpace) {
+                node = emit(' ', trie, node, out);
+                pendingSpace = false;
+                if (node < 0) break;
+            }
+            node = emit(f, trie, node, out);
+            segmentStart = false;
+        }
+        return node;
+    }
+
+    private static int emit(char c, Trie trie, int node, StringBuilder out) {
+        if (out != null) {
+            out.append(c);
+            return node;
+        }
+        return trie.child(node, c);
+    }
+
+    /** Base letter in lower case for every char below {@code limit}; 0 for combining marks */
+    private static char[] foldTable(int limit) {
+        char[] table = new char[limit];
+        for (int c = 0; c < limit; c++) {
+            char ch = (char) c;
+            if (Character.getType(ch) == Character.NON_SPACING_MARK) continue;
+            if (ch == 'đ' || ch == 'Đ') {
+                table[c] = 'd';
+                continue;
+            }
+            String decomposed = Normalizer.normalize(String.valueOf(ch), Normalizer.Form.NFD);
+            table[c] = Character.toLowerCase(decomposed.charAt(0));
+        }
+        return table;
+    }
+
+    /** Growable char trie: per node a sorted edge array and an ascending list of int values */
+    private static final class Trie {
+        static final int ROOT = 0;
+
+        private char[][] keys = new char[64][];
+        private int[][] targets = new int[64][];
+        private int[] edgeCounts = new int[64];
+        private int[][] values = new int[64][];
+        private int[] valueCounts = new int[64];
+        private int size = 1;
+
+        int child(int node, char c) {
+            char[] k = keys[node];
+            if (k == null) return -1;
+            int idx = Arrays.binarySearch(k, 0, edgeCounts[node], c);
+            return idx < 0 ? -1 : targets[node][idx];
+        }
+
+        int childOrCreate(int node, char c) {
+            int count = edgeCounts[node];
+            if (keys[node] == null) {
+                keys[node] = new char[2];
+                targets[node] = new int[2];
+            }
+            int idx = Arrays.binarySearch(keys[node], 0, count, c);
+            if (idx >= 0) return targets[node][idx];
+
+            idx = -idx - 1;
+            if (count == keys[node].length) {
+                keys[node] = Arrays.copyOf(keys[node], count * 2);
+                targets[node] = Arrays.copyOf(targets[node], count * 2);
+            }
+            System.arraycopy(keys[node], idx, keys[node], idx + 1, count - idx);
+            System.arraycopy(targets[node], idx, targets[node], idx + 1, count - idx);
+            int created = newNode();
+            keys[node][idx] = c;
+            targets[node][idx] = created;
+            edgeCounts[node] = count + 1;
+            return created;
+        }
+
+        private int newNode() {
+            if (size == keys.length) {
+                int length = size * 2;
+                keys = Arrays.copyOf(keys, length);
+                targets = Arrays.copyOf(targets, length);
+                edgeCounts = Arrays.copyOf(edgeCounts, length);
+                values = Arrays.copyOf(values, length);
+                valueCounts = Arrays.copyOf(valueCounts, length);
+            }
+            return size++;
+        }
+
+        /** Values must be added in ascending order; a repeat of the last value is ignored */
+        void addValue(int node, int value) {
+            int count = valueCounts[node];
+            int[] v = values[node];
+            if (count > 0 && v[count - 1] == value) return;
+            if (v == null) {
+                v = values[node] = new int[1];
+            } else if (count == v.length) {
+                v = values[node] = Arrays.copyOf(v, count * 2);
+            }
+            v[count] = value;
+            valueCounts[node] = count + 1;
+        }
+
+        int[] values(int node) { return values[node]; }
+        int valueCount(int node) { return valueCounts[node]; }
+    }
+}
@@ -0,0 +1,139 @@
+package com.leratortech.toolkit.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongBinaryOperator;
+import java.util.function.ToLongFunction;
+
+/**
+ * Subtree aggregates (sum / count / min / max / custom) for every node in one pass.
+ * <p>
+ * Results are {@code long[]} keyed by the pre-order position of {@link TreeIntervalIndex}:
+ * {@code result[index.indexOf(node)]} is the aggregate over the node's whole subtree.
+ * Walking the pre-order array backwards visits every child before its parent, so each value is
+ * combined into its parent exactly once (O(n) instead of calling getDescendants per node).
+ * The combiner must be associative and commutative; children are not combined in sibling order.
+ */
+public final class TreeRollup {
+
+    private TreeRollup() {}
+
+    public static <T> long[] rollup(TreeIntervalIndex<T> index, ToLongFunction<T> value, LongBinaryOperator combiner) {
+        int n = index.size();
+        long[] result = new long[n];
+        for (int i = 0; i < n; i++) result[i] = value.applyAsLong(index.nodeAt(i).getData());
+        for (int i = n - 1; i > 0; i--) {
+            int p = index.parentIndex(i);
+            if (p >= 0) result[p] = combiner.applyAsLong(result[p], result[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Same result as {@link #rollup}, with independent subtrees evaluated on {@code pool}.
+     * <p>
+     * The forest is cut into disjoint subtrees of at most a threshold size (each a contiguous range
+     * of the index, so tasks never share a slot) which run in parallel. The few nodes above them are
+     * then combined from their children's results, without recursion, so deep chains are safe.
+     */
+    public static <T> long[] rollupParallel(TreeIntervalIndex<T> index, ToLongFunction<T> value,
+                                            LongBinaryOperator combiner, ForkJoinPool pool) {
+        int n = index.size();
+        long[] result = new long[n];
+        if (n == 0) return result;
+        int threshold = Math.max(4096, n / (pool.getParallelism() * 8));
+
+        // consecutive small subtrees are batched into one task of up to threshold nodes
+        List<SubtreeTask<T>> tasks = new ArrayList<>();
+        int[] upper = new int[16];
+        int upperCount = 0;
+        int batchStart = -1;
+        for (int i = 0; i < n; ) {
+            int end = index.subtreeEnd(i);
+            if (end - i <= threshold) {
+                if (batchStart >= 0 && end - batchStart > threshold) {
+                    tasks.add(new SubtreeTask<>(index, batchStart, i, value, combiner, result));
+                    batchStart = -1;
+                }
+                if (batchStart < 0) batchStart = i;
+                i = end;
+            } else {
+                if (batchStart >= 0) {
+                    tasks.add(new SubtreeTask<>(index, batchStart, i, value, combiner, result));
+                    batchStart = -1;
+                }
+                if (upperCount == upper.length) upper = Arrays.copyOf(upper, upperCount * 2);
+                upper[upperCount++] = i++;
+            }
+        }
+        if (batchStart >= 0) tasks.add(new SubtreeTask<>(index, batchStart, n, value, combiner, result));
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        // upper nodes in reverse pre-order: all their children are done by then
+        for (int k = upperCount - 1; k >= 0; k--) {
+            int node = upper[k];
+            long acc = value.applyAsLong(index.nodeAt(node).getData());
+            for (int c = node + 1; c < index.subtreeEnd(node); c = index.subtreeEnd(c)) {
+                acc = combiner.applyAsLong(acc, result[c]);
+            }
+            result[node] = acc;
+        }
+        return result;
+    }
+
+    public static <T> long[] sum(TreeIntervalIndex<T> index, ToLongFunction<T> value) {
+        return rollup(index, value, Long::sum);
+    }
+
+    public static <T> long[] min(TreeIntervalIndex<T> index, ToLongFunction<T> value) {
+        return rollup(index, value, Math::min);
+    }
+
+    public static <T> long[] max(TreeIntervalIndex<T> index, ToLongFunction<T> value) {
+        return rollup(index, value, Math::max);
+    }
+
+    /** Number of nodes in each subtree, the node included; read straight from the interval index */
+    public static <T> long[] count(TreeIntervalIndex<T> index) {
+        long[] result = new long[index.size()];
+        for (int i = 0; i < result.length; i++) result[i] = index.subtreeEnd(i) - i;
+        return result;
+    }
+
+    private static final class SubtreeTask<T> extends RecursiveAction {
+        private final TreeIntervalIndex<T> index;
+        private final int from;
+        private final int to;
+        private final ToLongFunction<T> value;
+        private final LongBinaryOperator combiner;
+        private final long[] result;
+
+        /** {@code [from, to)} is a run of consecutive complete subtrees */
+        SubtreeTask(TreeIntervalIndex<T> index, int from, int to, ToLongFunction<T> value,
+                    LongBinaryOperator combiner, long[] result) {
+            this.index = index;
+            this.from = from;
+            this.to = to;
+            this.value = value;
+            this.combiner = combiner;
+            this.result = result;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = from; i < to; i++) result[i] = value.applyAsLong(index.nodeAt(i).getData());
+            for (int i = to - 1; i > from; i--) {
+                int p = index.parentIndex(i);
+                if (p >= from) result[p] = combiner.applyAsLong(result[p], result[i]);
+            }
+        }
+    }
+}
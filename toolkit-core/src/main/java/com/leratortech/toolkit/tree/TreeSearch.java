@@ -16,13 +16,7 @@ public final class TreeSearch {
     private TreeSearch() {}
 
     public static <T> Optional<TreeNode<T>> findNode(List<TreeNode<T>> roots, Predicate<TreeNode<T>> predicate) {
-        if (roots == null || predicate == null) return Optional.empty();
-        for (TreeNode<T> node : roots) {
-            if (predicate.test(node)) return Optional.of(node);
-            Optional<TreeNode<T>> found = findNode(node.getChildren(), predicate);
-            if (found.isPresent()) return found;
-        }
-        return Optional.empty();
+        return TreeWalker.find(roots, TreeWalker.Order.PRE_ORDER, predicate);
     }
 
     public static <T, ID> Optional<TreeNode<T>> findNodeById(List<TreeNode<T>> roots, Function<T, ID> idFunc, ID id) {
@@ -30,13 +24,8 @@ public final class TreeSearch {
     }
 
     public static <T> List<TreeNode<T>> getDescendants(TreeNode<T> node) {
-        List<TreeNode<T>> result = new ArrayList<>();
-        if (node == null) return result;
-        for (TreeNode<T> child : node.getChildren()) {
-            result.add(child);
-            result.addAll(getDescendants(child));
-        }
-        return result;
+        if (node == null) return new ArrayList<>();
+        return TreeWalker.collect(node.getChildren(), TreeWalker.Order.PRE_ORDER, 0);
     }
 
     public static <T> List<TreeNode<T>> getAncestors(TreeNode<T> node) {
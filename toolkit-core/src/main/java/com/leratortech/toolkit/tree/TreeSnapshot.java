@@ -0,0 +1,162 @@
+package com.leratortech.toolkit.tree;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Immutable, indexed copy of a tree for lock-free concurrent reads.
+ * <p>
+ * Every field is final and child lists are unmodifiable views over arrays filled before the snapshot
+ * is returned, so a snapshot can be shared by any number of reader threads without locking or
+ * copying. Changes are made by building a new snapshot and publishing it through
+ * {@link TreeSnapshotHolder}. The payload objects themselves are shared, not copied.
+ */
+public final class TreeSnapshot<T, ID> {
+
+    /** Immutable node: data, parent, depth and an unmodifiable child list */
+    public static final class Node<T> {
+        private final T data;
+        private final Node<T> parent;
+        private final int depth;
+        private final Node<T>[] children;
+        private final List<Node<T>> childrenView;
+
+        @SuppressWarnings("unchecked")
+        private Node(T data, Node<T> parent, int childCount) {
+            this.data = data;
+            this.parent = parent;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+            this.children = childCount == 0 ? EMPTY : new Node[childCount];
+            this.childrenView = childCount == 0 ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(children));
+        }
+
+        public T getData() { return data; }
+        public Node<T> getParent() { return parent; }
+        public List<Node<T>> getChildren() { return childrenView; }
+        public int getDepth() { return depth; }
+        public boolean isLeaf() { return children.length == 0; }
+
+        @Override
+        public String toString() {
+            return Objects.toString(data);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final Node[] EMPTY = new Node[0];
+
+    private final long version;
+    private final List<Node<T>> roots;
+    private final Map<ID, Node<T>> index;
+    private final Function<T, ID> idFunc;
+
+    private TreeSnapshot(long version, List<Node<T>> roots, Map<ID, Node<T>> index, Function<T, ID> idFunc) {
+        this.version = version;
+        this.roots = roots;
+        this.index = index;
+        this.idFunc = idFunc;
+    }
+
+    public static <T, ID> TreeSnapshot<T, ID> build(List<T> items, Function<T, ID> idFunc, Function<T, ID> parentIdFunc) {
+        return of(TreeBuilder.buildIndexedTree(items, idFunc, parentIdFunc).getRoots(), idFunc, 0);
+    }
+
+    /** Copies the structure of a {@link TreeNode} forest (iteratively); later changes to it are not seen */
+    public static <T, ID> TreeSnapshot<T, ID> of(List<TreeNode<T>> roots, Function<T, ID> idFunc, long version) {
+        List<TreeNode<T>> sourceRoots = roots == null ? List.of() : roots;
+        Map<ID, Node<T>> index = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        Node<T>[] copiedRoots = new Node[sourceRoots.size()];
+        // pairs (source, copy) whose children are still to be copied
+        ArrayDeque<TreeNode<T>> sources = new ArrayDeque<>();
+        ArrayDeque<Node<T>> copies = new ArrayDeque<>();
+        for (int i = 0; i < copiedRoots.length; i++) {
+            TreeNode<T> root = sourceRoots.get(i);
+            copiedRoots[i] = copy(root, null, index, idFunc);
+            sources.push(root);
+            copies.push(copiedRoots[i]);
+        }
+        while (!sources.isEmpty()) {
+            TreeNode<T> source = sources.pop();
+            Node<T> copy = copies.pop();
+            List<TreeNode<T>> children = source.getChildren();
+            for (int i = 0; i < children.size(); i++) {
+                Node<T> child = copy(children.get(i), copy, index, idFunc);
+                copy.children[i] = child;
+                sources.push(children.get(i));
+                copies.push(child);
+            }
+        }
+        return new TreeSnapshot<>(version, Collections.unmodifiableList(Arrays.asList(copiedRoots)),
+                Collections.unmodifiableMap(index), idFunc);
+    }
+
+    private static <T, ID> Node<T> copy(TreeNode<T> source, Node<T> parent, Map<ID, Node<T>> index, Function<T, ID> idFunc) {
+        Node<T> node = new Node<>(source.getData(), parent, source.getChildren().size());
+        index.put(idFunc.apply(source.getData()), node);
+        return node;
+    }
+
+    /** Same tree with another version number (used by {@link TreeSnapshotHolder}) */
+    TreeSnapshot<T, ID> withVersion(long newVersion) {
+        return new TreeSnapshot<>(newVersion, roots, index, idFunc);
+    }
+
+    // -----------------------------
+    // Queries
+    // -----------------------------
+
+    public long version() { return version; }
+    public List<Node<T>> getRoots() { return roots; }
+    public int size() { return index.size(); }
+    public boolean contains(ID id) { return index.containsKey(id); }
+
+    /** Node with the given id, or null */
+    public Node<T> get(ID id) { return index.get(id); }
+
+    public Optional<Node<T>> find(ID id) { return Optional.ofNullable(index.get(id)); }
+
+    public Node<T> parentOf(ID id) {
+        Node<T> node = index.get(id);
+        return node == null ? null : node.getParent();
+    }
+
+    public List<Node<T>> childrenOf(ID id) {
+        Node<T> node = index.get(id);
+        return node == null ? Collections.emptyList() : node.getChildren();
+    }
+
+    public ID idOf(Node<T> node) {
+        return node == null ? null : idFunc.apply(node.getData());
+    }
+
+    /** Ancestors from the root down to the direct parent */
+    public List<Node<T>> ancestorsOf(ID id) {
+        Node<T> node = index.get(id);
+        if (node == null) return Collections.emptyList();
+        @SuppressWarnings("unchecked")
+        Node<T>[] path = new Node[node.getDepth()];
+        for (Node<T> p = node.getParent(); p != null; p = p.getParent()) path[p.getDepth()] = p;
+        return Collections.unmodifiableList(Arrays.asList(path));
+    }
+
+    /** Pre-order visit of the whole snapshot, with an explicit stack */
+    public void traverse(Consumer<Node<T>> consumer) {
+        if (consumer == null) return;
+        ArrayDeque<Node<T>> stack = new ArrayDeque<>();
+        for (int i = roots.size() - 1; i >= 0; i--) stack.push(roots.get(i));
+        while (!stack.isEmpty()) {
+            Node<T> node = stack.pop();
+            consumer.accept(node);
+            for (int i = node.children.length - 1; i >= 0; i--) stack.push(node.children[i]);
+        }
+    }
+
+    public List<T> flattenData() {
+        List<T> result = new ArrayList<>(index.size());
+        traverse(node -> result.add(node.getData()));
+        return Collections.unmodifiableList(result);
+    }
+}
@@ -0,0 +1,65 @@
+package com.leratortech.toolkit.tree;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Atomically published {@link TreeSnapshot} for hot-reloaded reference data.
+ * <p>
+ * Readers call {@link #current()} (a single volatile read) and keep using the snapshot they got for
+ * the whole request, so they never lock and never see a half-built tree. Writers build a complete new
+ * snapshot off to the side and swap it in; writers are serialized among themselves only.
+ */
+public final class TreeSnapshotHolder<T, ID> {
+
+    private final Function<T, ID> idFunc;
+    private final Function<T, ID> parentIdFunc;
+    private final AtomicReference<TreeSnapshot<T, ID>> current;
+
+    public TreeSnapshotHolder(Function<T, ID> idFunc, Function<T, ID> parentIdFunc) {
+        this.idFunc = idFunc;
+        this.parentIdFunc = parentIdFunc;
+        this.current = new AtomicReference<>(TreeSnapshot.of(List.of(), idFunc, 0));
+    }
+
+    public TreeSnapshotHolder(List<T> items, Function<T, ID> idFunc, Function<T, ID> parentIdFunc) {
+        this(idFunc, parentIdFunc);
+        reload(items);
+    }
+
+    /** The latest published snapshot; never null (empty with version 0 before the first load) */
+    public TreeSnapshot<T, ID> current() {
+        return current.get();
+    }
+
+    public long version() {
+        return current.get().version();
+    }
+
+    /** Builds a snapshot from the full item list and publishes it with the next version number */
+    public synchronized TreeSnapshot<T, ID> reload(List<T> items) {
+        TreeSnapshot<T, ID> next = TreeSnapshot.build(items, idFunc, parentIdFunc);
+        return publish(next);
+    }
+
+    /**
+     * Publishes an already built snapshot (e.g. one copied from a modified {@link MutableTree});
+     * it is re-stamped with the next version number. Returns the snapshot actually published.
+     */
+    public synchronized TreeSnapshot<T, ID> publish(TreeSnapshot<T, ID> snapshot) {
+        TreeSnapshot<T, ID> next = snapshot.withVersion(current.get().version() + 1);
+        current.set(next);
+        return next;
+    }
+
+    /**
+     * Publishes {@code snapshot} only if {@code expected} is still current, so a rebuild based on a
+     * stale version does not overwrite a newer one. Returns false if another version got in first.
+     */
+    public synchronized boolean publishIfCurrent(TreeSnapshot<T, ID> expected, TreeSnapshot<T, ID> snapshot) {
+        if (current.get() != expected) return false;
+        current.set(snapshot.withVersion(expected.version() + 1));
+        return true;
+    }
+}
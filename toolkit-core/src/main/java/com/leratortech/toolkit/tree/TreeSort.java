@@ -1,17 +1,125 @@
 package com.leratortech.toolkit.tree;
 
-import java.util.Comparator;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Tree sorting
+ * <p>
+ * Every variant sorts each node's child list in place (stable). The {@code sortTreeBy} variants compute
+ * the sort key once per node instead of on every comparison; the parallel variants sort the child lists
+ * of independent subtrees on a {@link ForkJoinPool}.
  */
 public final class TreeSort {
 
+    /** Nodes a task sorts before it considers handing part of its pending work to another thread */
+    private static final int GRAIN = 1024;
+
     private TreeSort() {}
 
     public static <T> void sortTree(TreeNode<T> node, Comparator<TreeNode<T>> comparator) {
         if (node == null || comparator == null) return;
-        node.getChildren().sort(comparator);
-        node.getChildren().forEach(child -> sortTree(child, comparator));
+        // pre-order: children are sorted before the walker enters them
+        TreeWalker.preOrder(Collections.singletonList(node), n -> n.getChildren().sort(comparator));
+    }
+
+    public static <T, K extends Comparable<? super K>> void sortTreeBy(TreeNode<T> node, Function<T, K> keyFunc) {
+        sortTreeBy(node, keyFunc, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    public static <T, K> void sortTreeBy(TreeNode<T> node, Function<T, K> keyFunc, Comparator<? super K> keyComparator) {
+        if (node == null || keyFunc == null || keyComparator == null) return;
+        KeySorter<T, K> sorter = new KeySorter<>(keyFunc, keyComparator);
+        TreeWalker.preOrder(Collections.singletonList(node), n -> sorter.accept(n.getChildren()));
+    }
+
+    public static <T> void sortTreeParallel(TreeNode<T> node, Comparator<TreeNode<T>> comparator) {
+        sortTreeParallel(node, comparator, ForkJoinPool.commonPool());
+    }
+
+    /** Same result as {@link #sortTree}; the comparator must be thread-safe */
+    public static <T> void sortTreeParallel(TreeNode<T> node, Comparator<TreeNode<T>> comparator, ForkJoinPool pool) {
+        if (node == null || comparator == null) return;
+        pool.invoke(new SortTask<>(node, children -> children.sort(comparator)));
+    }
+
+    /** Same result as {@link #sortTreeBy(TreeNode, Function, Comparator)}; both functions must be thread-safe */
+    public static <T, K> void sortTreeByParallel(TreeNode<T> node, Function<T, K> keyFunc,
+                                                 Comparator<? super K> keyComparator, ForkJoinPool pool) {
+        if (node == null || keyFunc == null || keyComparator == null) return;
+        KeySorter<T, K> sorter = new KeySorter<>(keyFunc, keyComparator);
+        pool.invoke(new SortTask<>(node, sorter));
+    }
+
+    /** Sorts a child list by precomputed keys (one keyFunc call per child), then writes the order back */
+    private static final class KeySorter<T, K> implements Consumer<List<TreeNode<T>>> {
+        private final Function<T, K> keyFunc;
+        private final Comparator<Keyed<T, K>> comparator;
+
+        KeySorter(Function<T, K> keyFunc, Comparator<? super K> keyComparator) {
+            this.keyFunc = keyFunc;
+            this.comparator = (a, b) -> keyComparator.compare(a.key, b.key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void accept(List<TreeNode<T>> children) {
+            int n = children.size();
+            if (n < 2) return;
+            Keyed<T, K>[] keyed = new Keyed[n];
+            for (int i = 0; i < n; i++) {
+                TreeNode<T> child = children.get(i);
+                keyed[i] = new Keyed<>(keyFunc.apply(child.getData()), child);
+            }
+            Arrays.sort(keyed, comparator);
+            for (int i = 0; i < n; i++) children.set(i, keyed[i].node);
+        }
+    }
+
+    private record Keyed<T, K>(K key, TreeNode<T> node) {}
+
+    /**
+     * Sorts the subtrees of its pending nodes depth-first. Once it has done {@link #GRAIN} nodes and the
+     * pool is not already saturated, it forks off the older half of its pending stack (the shallowest,
+     * usually largest subtrees) as a new task, so work spreads however unbalanced the tree is.
+     */
+    private static final class SortTask<T> extends RecursiveAction {
+        private final ArrayDeque<TreeNode<T>> pending;
+        private final Consumer<List<TreeNode<T>>> sorter;
+
+        SortTask(TreeNode<T> root, Consumer<List<TreeNode<T>>> sorter) {
+            this(new ArrayDeque<>(), sorter);
+            pending.push(root);
+        }
+
+        private SortTask(ArrayDeque<TreeNode<T>> pending, Consumer<List<TreeNode<T>>> sorter) {
+            this.pending = pending;
+            this.sorter = sorter;
+        }
+
+        @Override
+        protected void compute() {
+            List<SortTask<T>> forked = new ArrayList<>();
+            int done = 0;
+            while (!pending.isEmpty()) {
+                TreeNode<T> node = pending.pop();
+                List<TreeNode<T>> children = node.getChildren();
+                sorter.accept(children);
+                for (int i = children.size() - 1; i >= 0; i--) pending.push(children.get(i));
+
+                if (++done >= GRAIN && pending.size() > 1 && getSurplusQueuedTaskCount() < 2) {
+                    ArrayDeque<TreeNode<T>> split = new ArrayDeque<>();
+                    for (int k = pending.size() / 2; k > 0; k--) split.push(pending.pollLast());
+                    SortTask<T> task = new SortTask<>(split, sorter);
+                    task.fork();
+                    forked.add(task);
+                    done = 0;
+                }
+            }
+            for (SortTask<T> task : forked) task.join();
+        }
     }
 }
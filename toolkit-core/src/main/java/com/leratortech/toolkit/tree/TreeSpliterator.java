@@ -0,0 +1,99 @@
+package com.leratortech.toolkit.tree;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Lazy spliterator over a tree forest.
+ * <p>
+ * Nodes are produced one at a time, so short-circuiting operations ({@code findFirst}, {@code limit},
+ * {@code anyMatch}) never touch the rest of the tree. The depth-first variant splits by subtree:
+ * pending subtrees are independent, so a prefix of them can be handed to another thread while
+ * pre-order encounter order is preserved. The breadth-first variant does not split, because a
+ * subtree split would break level order.
+ */
+public final class TreeSpliterator<T> implements Spliterator<TreeNode<T>> {
+
+    private final ArrayDeque<TreeNode<T>> pending;
+    private final boolean depthFirst;
+    private long estimate;
+
+    private TreeSpliterator(ArrayDeque<TreeNode<T>> pending, boolean depthFirst, long estimate) {
+        this.pending = pending;
+        this.depthFirst = depthFirst;
+        this.estimate = estimate;
+    }
+
+    public static <T> TreeSpliterator<T> depthFirst(List<TreeNode<T>> roots) {
+        return new TreeSpliterator<>(queueOf(roots), true, Long.MAX_VALUE);
+    }
+
+    public static <T> TreeSpliterator<T> breadthFirst(List<TreeNode<T>> roots) {
+        return new TreeSpliterator<>(queueOf(roots), false, Long.MAX_VALUE);
+    }
+
+    private static <T> ArrayDeque<TreeNode<T>> queueOf(List<TreeNode<T>> roots) {
+        ArrayDeque<TreeNode<T>> queue = new ArrayDeque<>();
+        if (roots != null) for (TreeNode<T> root : roots) if (root != null) queue.add(root);
+        return queue;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super TreeNode<T>> action) {
+        TreeNode<T> node = pending.poll();
+        if (node == null) return false;
+
+        List<TreeNode<T>> children = node.getChildren();
+        if (depthFirst) {
+            // children go in front of the remaining subtrees, first child first
+            for (int i = children.size() - 1; i >= 0; i--) {
+                TreeNode<T> child = children.get(i);
+                if (child != null) pending.addFirst(child);
+            }
+        } else {
+            for (TreeNode<T> child : children) if (child != null) pending.addLast(child);
+        }
+        action.accept(node);
+        return true;
+    }
+
+    @Override
+    public Spliterator<TreeNode<T>> trySplit() {
+        if (!depthFirst || pending.isEmpty()) return null;
+
+        int size = pending.size();
+        if (size == 1) {
+            // a single subtree: hand off its root alone and keep its children
+            TreeNode<T> root = pending.peek();
+            if (root.getChildren().isEmpty()) return null;
+            pending.poll();
+            List<TreeNode<T>> children = root.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                if (children.get(i) != null) pending.addFirst(children.get(i));
+            }
+            // shrink like the multi-root branch, so size-based split heuristics stop on deep chains
+            // instead of forking one task per node
+            estimate >>>= 1;
+            return Collections.singletonList(root).spliterator();
+        }
+
+        // first half of the pending subtrees is the pre-order prefix
+        ArrayDeque<TreeNode<T>> prefix = new ArrayDeque<>(size / 2);
+        for (int i = size / 2; i > 0; i--) prefix.add(pending.poll());
+        estimate >>>= 1;
+        return new TreeSpliterator<>(prefix, true, estimate);
+    }
+
+    @Override
+    public long estimateSize() {
+        return pending.isEmpty() ? 0 : estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
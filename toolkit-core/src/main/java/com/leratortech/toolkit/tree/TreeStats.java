@@ -1,5 +1,6 @@
 package com.leratortech.toolkit.tree;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -11,12 +12,14 @@ public final class TreeStats {
 
     public static <T> int getDepth(TreeNode<T> node) {
         if (node == null) return 0;
-        if (node.getChildren().isEmpty()) return 1;
-        return 1 + node.getChildren().stream().mapToInt(TreeStats::getDepth).max().orElse(0);
+        return TreeWalker.height(Collections.singletonList(node));
     }
 
     public static <T> int getHeight(List<TreeNode<T>> roots) {
-        if (roots == null || roots.isEmpty()) return 0;
-        return roots.stream().mapToInt(TreeStats::getDepth).max().orElse(0);
+        return TreeWalker.height(roots);
+    }
+
+    public static <T> int countNodes(List<TreeNode<T>> roots) {
+        return TreeWalker.count(roots);
     }
 }
@@ -1,48 +1,71 @@
 package com.leratortech.toolkit.tree;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Traverse / flatten / print tree
+ * Traverse / flatten / print tree (iterative, see {@link TreeWalker})
  */
 public final class TreeTraversal {
 
     private TreeTraversal() {}
 
     public static <T> void traverse(List<TreeNode<T>> roots, Consumer<TreeNode<T>> consumer) {
-        if (roots == null || consumer == null) return;
-        for (TreeNode<T> node : roots) {
-            consumer.accept(node);
-            traverse(node.getChildren(), consumer);
-        }
+        TreeWalker.preOrder(roots, consumer);
     }
 
+    /**
+     * Single pass into a growing list: a counting pass to presize costs a second walk over the links and
+     * measured about 2x slower than the growth copies. Pass the node count when it is known, e.g. the
+     * item count the tree was built from, to {@link #flatten(List, int)}.
+     */
     public static <T> List<TreeNode<T>> flatten(List<TreeNode<T>> roots) {
-        List<TreeNode<T>> result = new ArrayList<>();
-        if (roots == null) return result;
-        for (TreeNode<T> node : roots) {
-            result.add(node);
-            result.addAll(flatten(node.getChildren()));
-        }
-        return result;
+        return TreeWalker.collect(roots, TreeWalker.Order.PRE_ORDER, 0);
+    }
+
+    /** Flatten into a list presized to {@code expectedSize} (a hint; a wrong value only costs growth) */
+    public static <T> List<TreeNode<T>> flatten(List<TreeNode<T>> roots, int expectedSize) {
+        return TreeWalker.collect(roots, TreeWalker.Order.PRE_ORDER, expectedSize);
+    }
+
+    /** Flatten with the result presized from the index, so the fill never grows the list */
+    public static <T, ID> List<TreeNode<T>> flatten(IndexedTree<T, ID> tree) {
+        if (tree == null) return new ArrayList<>();
+        return TreeWalker.collect(tree.getRoots(), TreeWalker.Order.PRE_ORDER, tree.size());
     }
 
     public static <T> List<T> flattenData(List<TreeNode<T>> roots) {
-        return flatten(roots).stream().map(TreeNode::getData).toList();
+        List<T> result = new ArrayList<>();
+        TreeWalker.preOrder(roots, node -> result.add(node.getData()));
+        return Collections.unmodifiableList(result);
     }
 
-    public static <T> void printTree(List<TreeNode<T>> roots) {
-        printTree(roots, 0);
+    /** Lazy pre-order stream; splits by subtree when run in parallel */
+    public static <T> Stream<TreeNode<T>> stream(List<TreeNode<T>> roots) {
+        return StreamSupport.stream(TreeSpliterator.depthFirst(roots), false);
     }
 
-    private static <T> void printTree(List<TreeNode<T>> nodes, int level) {
-        if (nodes == null) return;
-        String indent = "  ".repeat(level);
-        for (TreeNode<T> node : nodes) {
-            System.out.println(indent + "- " + node.getData());
-            printTree(node.getChildren(), level + 1);
-        }
+    /** Lazy stream in pre-order (DFS) or level order (BFS); post-order is not available lazily */
+    public static <T> Stream<TreeNode<T>> stream(List<TreeNode<T>> roots, TreeWalker.Order order) {
+        return switch (order) {
+            case PRE_ORDER -> StreamSupport.stream(TreeSpliterator.depthFirst(roots), false);
+            case LEVEL_ORDER -> StreamSupport.stream(TreeSpliterator.breadthFirst(roots), false);
+            case POST_ORDER -> throw new IllegalArgumentException("Post-order cannot be streamed lazily, use TreeWalker.walk");
+        };
+    }
+
+    public static <T> Stream<T> streamData(List<TreeNode<T>> roots) {
+        return stream(roots).map(TreeNode::getData);
+    }
+
+    public static <T> void printTree(List<TreeNode<T>> roots) {
+        TreeWalker.walk(roots, TreeWalker.Order.PRE_ORDER, (node, level) -> {
+            System.out.println("  ".repeat(level) + "- " + node.getData());
+            return true;
+        });
     }
 }
@@ -1,5 +1,6 @@
 package com.leratortech.toolkit.tree;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -16,11 +17,54 @@ public final class TreeUtils {
     public static <T, ID> List<TreeNode<T>> buildTree(List<T> items, Function<T, ID> idFunc, Function<T, ID> parentIdFunc) {
         return TreeBuilder.buildTree(items, idFunc, parentIdFunc);
     }
+    public static <T, ID> IndexedTree<T, ID> buildIndexedTree(List<T> items, Function<T, ID> idFunc, Function<T, ID> parentIdFunc) {
+        return TreeBuilder.buildIndexedTree(items, idFunc, parentIdFunc);
+    }
+    public static <T, ID> List<TreeNode<T>> buildTreeParallel(List<T> items, Function<T, ID> idFunc, Function<T, ID> parentIdFunc) {
+        return TreeBuilder.buildTreeParallel(items, idFunc, parentIdFunc);
+    }
+
+    public static <T> List<TreeNode<T>> buildTreeByLongId(List<T> items, java.util.function.ToLongFunction<T> idFunc,
+                                                          java.util.function.ToLongFunction<T> parentIdFunc) {
+        return TreeBuilder.buildTreeByLongId(items, idFunc, parentIdFunc);
+    }
+
+    public static <T, ID> CompactTree<T> buildCompactTree(List<T> items, Function<T, ID> idFunc, Function<T, ID> parentIdFunc) {
+        return CompactTree.build(items, idFunc, parentIdFunc);
+    }
+
+    public static <T, ID> MutableTree<T, ID> buildMutableTree(List<T> items, Function<T, ID> idFunc, Function<T, ID> parentIdFunc) {
+        return MutableTree.of(items, idFunc, parentIdFunc);
+    }
+
+    public static <T, ID> TreeBuildResult<T, ID> buildFrom(java.util.Iterator<T> items, Function<T, ID> idFunc, Function<T, ID> parentIdFunc) {
+        return TreeBuilder.buildFrom(items, idFunc, parentIdFunc);
+    }
+
+    public static <T, ID> TreeBuildResult<T, ID> buildFrom(java.util.stream.Stream<T> items, Function<T, ID> idFunc, Function<T, ID> parentIdFunc) {
+        return TreeBuilder.buildFrom(items, idFunc, parentIdFunc);
+    }
+
+    public static <T, ID> TreeSnapshot<T, ID> buildSnapshot(List<T> items, Function<T, ID> idFunc, Function<T, ID> parentIdFunc) {
+        return TreeSnapshot.build(items, idFunc, parentIdFunc);
+    }
+
+    // Memory-mapped persistence
+    public static <T> void writeMapped(List<TreeNode<T>> roots, java.nio.file.Path file, MappedTree.Codec<T> codec,
+                                       java.util.function.ToLongFunction<T> idFunc) throws java.io.IOException {
+        MappedTree.write(roots, file, codec, idFunc);
+    }
+    public static <T> MappedTree<T> openMapped(java.nio.file.Path file, MappedTree.Codec<T> codec) throws java.io.IOException {
+        return MappedTree.open(file, codec);
+    }
 
     // Traverse / Print
     public static <T> void traverse(List<TreeNode<T>> roots, java.util.function.Consumer<TreeNode<T>> consumer) {
         TreeTraversal.traverse(roots, consumer);
     }
+    public static <T> boolean walk(List<TreeNode<T>> roots, TreeWalker.Order order, TreeWalker.Visitor<T> visitor) {
+        return TreeWalker.walk(roots, order, visitor);
+    }
     public static <T> void printTree(List<TreeNode<T>> roots) {
         TreeTraversal.printTree(roots);
     }
@@ -29,10 +73,27 @@ public final class TreeUtils {
     public static <T> List<TreeNode<T>> flatten(List<TreeNode<T>> roots) {
         return TreeTraversal.flatten(roots);
     }
+    public static <T> List<TreeNode<T>> flatten(List<TreeNode<T>> roots, int expectedSize) {
+        return TreeTraversal.flatten(roots, expectedSize);
+    }
+    public static <T, ID> List<TreeNode<T>> flatten(IndexedTree<T, ID> tree) {
+        return TreeTraversal.flatten(tree);
+    }
     public static <T> List<T> flattenData(List<TreeNode<T>> roots) {
         return TreeTraversal.flattenData(roots);
     }
 
+    // Lazy streams
+    public static <T> java.util.stream.Stream<TreeNode<T>> stream(List<TreeNode<T>> roots) {
+        return TreeTraversal.stream(roots);
+    }
+    public static <T> java.util.stream.Stream<TreeNode<T>> stream(List<TreeNode<T>> roots, TreeWalker.Order order) {
+        return TreeTraversal.stream(roots, order);
+    }
+    public static <T> java.util.stream.Stream<T> streamData(List<TreeNode<T>> roots) {
+        return TreeTraversal.streamData(roots);
+    }
+
     // Find
     public static <T> Optional<TreeNode<T>> findNode(List<TreeNode<T>> roots, Predicate<TreeNode<T>> predicate) {
         return TreeSearch.findNode(roots, predicate);
@@ -40,6 +101,13 @@ public final class TreeUtils {
     public static <T, ID> Optional<TreeNode<T>> findNodeById(List<TreeNode<T>> roots, Function<T, ID> idFunc, ID id) {
         return TreeSearch.findNodeById(roots, idFunc, id);
     }
+    public static <T, ID> Optional<TreeNode<T>> findNodeById(IndexedTree<T, ID> tree, ID id) {
+        return tree == null ? Optional.empty() : tree.find(id);
+    }
+
+    public static <T> PrunedTree<T> prune(List<TreeNode<T>> roots, Predicate<TreeNode<T>> predicate) {
+        return PrunedTree.of(roots, predicate);
+    }
 
     // Descendants / Ancestors
     public static <T> List<TreeNode<T>> getDescendants(TreeNode<T> node) {
@@ -48,6 +116,31 @@ public final class TreeUtils {
     public static <T> List<TreeNode<T>> getAncestors(TreeNode<T> node) {
         return TreeSearch.getAncestors(node);
     }
+    public static <T, ID> List<TreeNode<T>> getDescendants(IndexedTree<T, ID> tree, ID id) {
+        return tree == null ? new ArrayList<>() : TreeSearch.getDescendants(tree.get(id));
+    }
+    public static <T, ID> List<TreeNode<T>> getAncestors(IndexedTree<T, ID> tree, ID id) {
+        return tree == null ? new ArrayList<>() : TreeSearch.getAncestors(tree.get(id));
+    }
+
+    // Interval / ancestor index (ancestor checks, subtree views, LCA)
+    public static <T> TreeIntervalIndex<T> intervalIndex(List<TreeNode<T>> roots) {
+        return TreeIntervalIndex.of(roots);
+    }
+    public static <T> TreeAncestorIndex<T> ancestorIndex(List<TreeNode<T>> roots) {
+        return TreeAncestorIndex.of(roots);
+    }
+    public static <T> TreePathIndex<T> pathIndex(List<TreeNode<T>> roots, Function<T, String> nameFunc) {
+        return TreePathIndex.of(roots, nameFunc);
+    }
+
+    // Subtree roll-ups (result keyed by interval index position)
+    public static <T> long[] rollup(TreeIntervalIndex<T> index, java.util.function.ToLongFunction<T> value, java.util.function.LongBinaryOperator combiner) {
+        return TreeRollup.rollup(index, value, combiner);
+    }
+    public static <T> long[] rollupSum(TreeIntervalIndex<T> index, java.util.function.ToLongFunction<T> value) {
+        return TreeRollup.sum(index, value);
+    }
 
     // Stats
     public static <T> int getDepth(TreeNode<T> node) {
@@ -56,11 +149,20 @@ public final class TreeUtils {
     public static <T> int getHeight(List<TreeNode<T>> roots) {
         return TreeStats.getHeight(roots);
     }
+    public static <T> int countNodes(List<TreeNode<T>> roots) {
+        return TreeStats.countNodes(roots);
+    }
 
     // Sorting
     public static <T> void sortTree(TreeNode<T> node, java.util.Comparator<TreeNode<T>> comparator) {
         TreeSort.sortTree(node, comparator);
     }
+    public static <T, K extends Comparable<? super K>> void sortTreeBy(TreeNode<T> node, Function<T, K> keyFunc) {
+        TreeSort.sortTreeBy(node, keyFunc);
+    }
+    public static <T> void sortTreeParallel(TreeNode<T> node, java.util.Comparator<TreeNode<T>> comparator) {
+        TreeSort.sortTreeParallel(node, comparator);
+    }
 
     // Map conversion
     public static <T, ID> java.util.Map<ID, List<TreeNode<T>>> treeToMap(List<TreeNode<T>> roots, Function<TreeNode<T>, ID> parentIdFunc) {
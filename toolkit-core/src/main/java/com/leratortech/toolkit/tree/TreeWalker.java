@@ -0,0 +1,139 @@
+package com.leratortech.toolkit.tree;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Explicit-stack traversal engine.
+ * No recursion, so degenerate (chain-like) trees of any depth cannot overflow the call stack.
+ * Depth-first walks keep only the current path on the stack; children are read by index when needed,
+ * so a visitor may reorder a node's children on a pre-order visit (see {@link TreeSort}).
+ */
+public final class TreeWalker {
+
+    private TreeWalker() {}
+
+    public enum Order { PRE_ORDER, POST_ORDER, LEVEL_ORDER }
+
+    /** Depth-annotated visitor (roots are depth 0); return false to stop the walk */
+    @FunctionalInterface
+    public interface Visitor<T> {
+        boolean visit(TreeNode<T> node, int depth);
+    }
+
+    /**
+     * Visit every node in the given order.
+     *
+     * @return true if all nodes were visited, false if the visitor stopped early
+     */
+    public static <T> boolean walk(List<TreeNode<T>> roots, Order order, Visitor<T> visitor) {
+        if (roots == null || roots.isEmpty() || visitor == null) return true;
+        return switch (order) {
+            case PRE_ORDER -> depthFirst(roots, true, visitor);
+            case POST_ORDER -> depthFirst(roots, false, visitor);
+            case LEVEL_ORDER -> levelOrder(roots, visitor);
+        };
+    }
+
+    public static <T> void preOrder(List<TreeNode<T>> roots, Consumer<TreeNode<T>> consumer) {
+        if (consumer == null) return;
+        walk(roots, Order.PRE_ORDER, (node, depth) -> { consumer.accept(node); return true; });
+    }
+
+    public static <T> void postOrder(List<TreeNode<T>> roots, Consumer<TreeNode<T>> consumer) {
+        if (consumer == null) return;
+        walk(roots, Order.POST_ORDER, (node, depth) -> { consumer.accept(node); return true; });
+    }
+
+    public static <T> void levelOrder(List<TreeNode<T>> roots, Consumer<TreeNode<T>> consumer) {
+        if (consumer == null) return;
+        walk(roots, Order.LEVEL_ORDER, (node, depth) -> { consumer.accept(node); return true; });
+    }
+
+    /** First node in the given order matching the predicate; stops walking as soon as it is found */
+    public static <T> Optional<TreeNode<T>> find(List<TreeNode<T>> roots, Order order, Predicate<TreeNode<T>> predicate) {
+        if (predicate == null) return Optional.empty();
+        List<TreeNode<T>> found = new ArrayList<>(1);
+        walk(roots, order, (node, depth) -> {
+            if (!predicate.test(node)) return true;
+            found.add(node);
+            return false;
+        });
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    /** All nodes in the given order, filled in a single pass into a list presized to {@code expectedSize} */
+    public static <T> List<TreeNode<T>> collect(List<TreeNode<T>> roots, Order order, int expectedSize) {
+        List<TreeNode<T>> result = new ArrayList<>(Math.max(expectedSize, 0));
+        walk(roots, order, (node, depth) -> result.add(node));
+        return result;
+    }
+
+    public static <T> int count(List<TreeNode<T>> roots) {
+        int[] count = {0};
+        walk(roots, Order.PRE_ORDER, (node, depth) -> { count[0]++; return true; });
+        return count[0];
+    }
+
+    /** Number of levels (1 for a single node, 0 for an empty forest) */
+    public static <T> int height(List<TreeNode<T>> roots) {
+        int[] max = {0};
+        walk(roots, Order.PRE_ORDER, (node, depth) -> {
+            if (depth >= max[0]) max[0] = depth + 1;
+            return true;
+        });
+        return max[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> boolean depthFirst(List<TreeNode<T>> roots, boolean preOrder, Visitor<T> visitor) {
+        // frame d = sibling list at depth d and the position of the next sibling to enter
+        List<TreeNode<T>>[] siblings = new List[16];
+        int[] next = new int[16];
+        int d = 0;
+        siblings[0] = roots;
+
+        while (d >= 0) {
+            List<TreeNode<T>> level = siblings[d];
+            if (next[d] < level.size()) {
+                TreeNode<T> node = level.get(next[d]++);
+                if (node == null) continue;
+                if (preOrder && !visitor.visit(node, d)) return false;
+
+                List<TreeNode<T>> children = node.getChildren();
+                if (!children.isEmpty()) {
+                    if (++d == siblings.length) {
+                        siblings = Arrays.copyOf(siblings, d * 2);
+                        next = Arrays.copyOf(next, d * 2);
+                    }
+                    siblings[d] = children;
+                    next[d] = 0;
+                } else if (!preOrder && !visitor.visit(node, d)) {
+                    return false;
+                }
+            } else {
+                siblings[d--] = null;
+                // all children done: the owner of this frame is the last entered node one level up
+                if (!preOrder && d >= 0 && !visitor.visit(siblings[d].get(next[d] - 1), d)) return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T> boolean levelOrder(List<TreeNode<T>> roots, Visitor<T> visitor) {
+        ArrayDeque<TreeNode<T>> queue = new ArrayDeque<>();
+        for (TreeNode<T> root : roots) if (root != null) queue.add(root);
+
+        int depth = 0;
+        while (!queue.isEmpty()) {
+            for (int remaining = queue.size(); remaining > 0; remaining--) {
+                TreeNode<T> node = queue.poll();
+                if (!visitor.visit(node, depth)) return false;
+                for (TreeNode<T> child : node.getChildren()) if (child != null) queue.add(child);
+            }
+            depth++;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,103 @@
+package com.leratortech.toolkit.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrayUtilsTest {
+
+    @Test
+    void testCompact() {
+        String[] arr = {"a", null, "b", null, "c"};
+        String[] result = ArrayUtils.compact(arr, String.class);
+        assertArrayEquals(new String[]{"a", "b", "c"}, result);
+        assertEquals(String[].class, result.getClass());
+
+        String[] full = {"x", "y"};
+        String[] copy = ArrayUtils.compact(full, String.class);
+        assertArrayEquals(full, copy);
+        assertNotSame(full, copy);
+        assertEquals(0, ArrayUtils.compact(null, String.class).length);
+
+        // declared type wider than the runtime array: the result still has the requested type
+        Object[] objects = ArrayUtils.compact(new Object[]{1, null, "s"}, Object.class);
+        assertEquals(Object[].class, objects.getClass());
+        assertArrayEquals(new Object[]{1, "s"}, objects);
+    }
+
+    @Test
+    void testCompactInPlace() {
+        String[] arr = {null, "a", null, "b", "c", null};
+        assertEquals(3, ArrayUtils.compactInPlace(arr));
+        assertArrayEquals(new String[]{"a", "b", "c", null, null, null}, arr);
+        assertEquals(0, ArrayUtils.compactInPlace(null));
+    }
+
+    @Test
+    void testFlatten() {
+        Integer[][] arr = {null, {1, 2}, {}, null, {3}, {4, 5}};
+        Integer[] result = ArrayUtils.flatten(arr, Integer.class);
+        assertArrayEquals(new Integer[]{1, 2, 3, 4, 5}, result);
+        assertEquals(Integer[].class, result.getClass());
+        assertEquals(0, ArrayUtils.flatten(new Integer[][]{null}, Integer.class).length);
+
+        assertArrayEquals(new int[]{1, 2, 3}, ArrayUtils.flatten(new int[][]{{1}, null, {2, 3}}));
+        assertArrayEquals(new long[]{4, 5}, ArrayUtils.flatten(new long[][]{{}, {4, 5}}));
+        assertArrayEquals(new double[]{0.5}, ArrayUtils.flatten(new double[][]{{0.5}}));
+        assertEquals(0, ArrayUtils.flatten((int[][]) null).length);
+    }
+
+    @Test
+    void testFilterMatchesStream() {
+        Random random = new Random(11);
+        for (int size : new int[]{0, 1, 63, 64, 65, 1_000}) {
+            Integer[] arr = random.ints(size, 0, 100).boxed().toArray(Integer[]::new);
+            int[] prim = Arrays.stream(arr).mapToInt(Integer::intValue).toArray();
+
+            assertArrayEquals(Arrays.stream(arr).filter(x -> x % 3 == 0).toArray(Integer[]::new),
+                    ArrayUtils.filter(arr, Integer.class, x -> x % 3 == 0));
+            assertArrayEquals(Arrays.stream(prim).filter(x -> x % 3 == 0).toArray(),
+                    ArrayUtils.filter(prim, x -> x % 3 == 0));
+            assertArrayEquals(Arrays.stream(prim).asLongStream().filter(x -> x > 50).toArray(),
+                    ArrayUtils.filter(Arrays.stream(prim).asLongStream().toArray(), x -> x > 50));
+            assertArrayEquals(Arrays.stream(prim).asDoubleStream().filter(x -> x < 10).toArray(),
+                    ArrayUtils.filter(Arrays.stream(prim).asDoubleStream().toArray(), x -> x < 10));
+        }
+    }
+
+    @Test
+    void testFilterTestsEachElementOnce() {
+        int[] calls = {0};
+        String[] result = ArrayUtils.filter(new String[]{"a", null, "b"}, String.class, s -> {
+            calls[0]++;
+            return Objects.nonNull(s);
+        });
+        assertArrayEquals(new String[]{"a", "b"}, result);
+        assertEquals(3, calls[0]);
+    }
+
+    @Test
+    void testReverse() {
+        String[] arr = {"a", "b", "c"};
+        assertArrayEquals(new String[]{"c", "b", "a"}, ArrayUtils.reverse(arr, String.class));
+        assertArrayEquals(new String[]{"a", "b", "c"}, arr);
+        assertSame(arr, ArrayUtils.reverseInPlace(arr));
+        assertArrayEquals(new String[]{"c", "b", "a"}, arr);
+        assertEquals(0, ArrayUtils.reverse(null, String.class).length);
+
+        assertArrayEquals(new int[]{3, 2, 1}, ArrayUtils.reverse(new int[]{1, 2, 3}));
+        assertArrayEquals(new long[]{4, 3, 2, 1}, ArrayUtils.reverseInPlace(new long[]{1, 2, 3, 4}));
+        assertArrayEquals(new double[]{2, 1}, ArrayUtils.reverse(new double[]{1, 2}));
+        assertArrayEquals(new double[]{1}, ArrayUtils.reverseInPlace(new double[]{1}));
+    }
+
+    @Test
+    void testMap() {
+        Integer[] lengths = ArrayUtils.map(new String[]{"a", "bb", ""}, Integer.class, String::length);
+        assertArrayEquals(new Integer[]{1, 2, 0}, lengths);
+    }
+}
@@ -0,0 +1,103 @@
+package com.leratortech.toolkit.collection;
+
+import com.leratortech.toolkit.concurrency.ExecutorBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchingTest {
+
+    private static List<Integer> range(int n) {
+        return IntStream.range(0, n).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    void testPartition() {
+        List<Integer> list = range(7);
+        List<List<Integer>> chunks = ListUtils.partition(list, 3);
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4, 5), List.of(6)), chunks);
+        assertEquals(3, chunks.size());
+        assertEquals(List.of(List.of(0, 1, 2, 3, 4, 5, 6)), ListUtils.partition(list, 100));
+        assertTrue(ListUtils.partition(null, 3).isEmpty());
+        assertTrue(ListUtils.partition(List.of(), 3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> ListUtils.partition(list, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> chunks.get(3));
+    }
+
+    @Test
+    void testPartitionIsAView() {
+        List<Integer> list = range(6);
+        List<List<Integer>> chunks = ListUtils.partition(list, 4);
+        chunks.get(1).set(0, 40);
+        assertEquals(40, list.get(4));
+        list.add(6);
+        list.add(7);
+        list.add(8);
+        assertEquals(3, chunks.size());
+        assertEquals(List.of(8), chunks.get(2));
+    }
+
+    @Test
+    void testSliding() {
+        List<Integer> list = range(5);
+        assertEquals(List.of(List.of(0, 1, 2), List.of(1, 2, 3), List.of(2, 3, 4)), ListUtils.sliding(list, 3));
+        assertEquals(List.of(List.of(0, 1), List.of(2, 3)), ListUtils.sliding(list, 2, 2));
+        assertEquals(List.of(List.of(0), List.of(3)), ListUtils.sliding(list, 1, 3));
+        assertTrue(ListUtils.sliding(list, 6).isEmpty());
+        assertTrue(ListUtils.sliding(null, 1).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> ListUtils.sliding(list, 2, 0));
+    }
+
+    @Test
+    void testBatchesAreLazy() {
+        AtomicInteger pulled = new AtomicInteger();
+        Stream<Integer> infinite = Stream.iterate(0, i -> i + 1).peek(i -> pulled.incrementAndGet());
+        List<List<Integer>> firstTwo = CollectionUtils.batches(infinite, 4).limit(2).toList();
+        assertEquals(List.of(List.of(0, 1, 2, 3), List.of(4, 5, 6, 7)), firstTwo);
+        assertEquals(8, pulled.get());
+
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4)), CollectionUtils.batches(range(5).stream(), 3).toList());
+        assertEquals(0, CollectionUtils.batches(Stream.empty(), 3).count());
+        assertEquals(0, CollectionUtils.batches(null, 3).count());
+        assertThrows(IllegalArgumentException.class, () -> CollectionUtils.batches(Stream.of(1), 0));
+    }
+
+    @Test
+    void testBatchingCollector() {
+        List<Integer> list = range(10_007);
+        List<List<Integer>> expected = ListUtils.partition(list, 100);
+        assertEquals(expected, list.stream().collect(CollectionUtils.batching(100)));
+        assertEquals(expected, list.parallelStream().collect(CollectionUtils.batching(100)));
+        assertTrue(Stream.<Integer>empty().collect(CollectionUtils.batching(3)).isEmpty());
+    }
+
+    @Test
+    void testInvokeBatches() {
+        ExecutorService pool = ExecutorBuilder.fixed(3, "batch-test");
+        try {
+            List<Integer> list = range(1_000);
+            List<Integer> sums = ExecutorBuilder.invokeBatches(pool, list, 128,
+                    batch -> batch.stream().mapToInt(Integer::intValue).sum());
+            assertEquals(8, sums.size());
+            assertEquals(IntStream.range(0, 128).sum(), sums.get(0));
+            assertEquals(list.stream().mapToInt(Integer::intValue).sum(), sums.stream().mapToInt(Integer::intValue).sum());
+
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> ExecutorBuilder.invokeBatches(pool, list, 100, batch -> {
+                        if (batch.contains(500)) throw new IllegalStateException("bad batch");
+                        return batch.size();
+                    }));
+            assertEquals("bad batch", e.getMessage());
+            assertTrue(ExecutorBuilder.invokeBatches(pool, List.<Integer>of(), 10, List::size).isEmpty());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
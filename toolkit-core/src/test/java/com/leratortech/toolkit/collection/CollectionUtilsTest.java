@@ -98,7 +98,7 @@ class CollectionUtilsTest {
         List<String> result = CollectionUtils.distinct(list);
         assertEquals(List.of("a", "b", "c"), result);
 
-        assertTrue(CollectionUtils.distinct(null).isEmpty());
+        assertTrue(CollectionUtils.distinct((List<String>) null).isEmpty());
         assertTrue(CollectionUtils.distinct(Collections.emptyList()).isEmpty());
     }
 
@@ -114,4 +114,108 @@ class CollectionUtilsTest {
         assertEquals("default", CollectionUtils.getOrDefault(list, -1, "default"));
         assertEquals("default", CollectionUtils.getOrDefault(null, 0, "default"));
     }
+
+    // -----------------------------
+    // Primitive variants
+    // -----------------------------
+    @Test
+    void testPrimitiveDistinct() {
+        assertArrayEquals(new long[]{3, 1, 0, 2}, CollectionUtils.distinct(new long[]{3, 1, 3, 0, 2, 1, 0}));
+        assertArrayEquals(new int[]{5, -5}, CollectionUtils.distinct(new int[]{5, -5, 5}));
+        assertArrayEquals(new long[0], CollectionUtils.distinct((long[]) null));
+    }
+
+    @Test
+    void testPrimitiveListOpsKeepOrderAndDuplicates() {
+        long[] a = {4, 1, 2, 1, 0, 3};
+        long[] b = {1, 0, 9};
+        assertArrayEquals(new long[]{1, 1, 0}, ListUtils.intersection(a, b));
+        assertArrayEquals(new long[]{4, 2, 3}, ListUtils.diff(a, b));
+        assertArrayEquals(a, ListUtils.diff(a, null));
+        assertArrayEquals(new int[]{2, 2}, ListUtils.intersection(new int[]{2, 3, 2}, new int[]{2}));
+        assertArrayEquals(new int[]{3}, ListUtils.diff(new int[]{2, 3, 2}, new int[]{2}));
+    }
+
+    @Test
+    void testPrimitiveSetOpsAreDistinct() {
+        long[] a = {4, 1, 2, 1, 0};
+        long[] b = {1, 0, 9, 9};
+        assertArrayEquals(new long[]{4, 1, 2, 0, 9}, SetUtils.union(a, b));
+        assertArrayEquals(new long[]{1, 0}, SetUtils.intersect(a, b));
+        assertArrayEquals(new long[]{4, 2}, SetUtils.difference(a, b));
+        assertArrayEquals(new long[]{4, 1, 2, 0}, SetUtils.difference(a, null));
+        assertArrayEquals(new int[]{7, 8}, SetUtils.union(new int[]{7, 7}, new int[]{8}));
+        assertArrayEquals(new int[]{7}, SetUtils.intersect(new int[]{7, 7, 8}, new int[]{7, 7}));
+        assertArrayEquals(new int[]{8}, SetUtils.difference(new int[]{7, 8, 8}, new int[]{7}));
+    }
+
+    @Test
+    void testPrimitiveOpsMatchBoxed() {
+        Random random = new Random(7);
+        long[] a = random.longs(5_000, 0, 3_000).toArray();
+        long[] b = random.longs(4_000, 0, 3_000).toArray();
+        List<Long> boxedA = Arrays.stream(a).boxed().toList();
+        List<Long> boxedB = Arrays.stream(b).boxed().toList();
+
+        assertEquals(CollectionUtils.distinct(boxedA), Arrays.stream(CollectionUtils.distinct(a)).boxed().toList());
+        assertEquals(ListUtils.intersection(boxedA, boxedB), Arrays.stream(ListUtils.intersection(a, b)).boxed().toList());
+        assertEquals(ListUtils.diff(boxedA, boxedB), Arrays.stream(ListUtils.diff(a, b)).boxed().toList());
+
+        Set<Long> setA = new HashSet<>(boxedA);
+        Set<Long> setB = new HashSet<>(boxedB);
+        assertEquals(SetUtils.union(setA, setB), toSet(SetUtils.union(a, b)));
+        assertEquals(SetUtils.intersect(setA, setB), toSet(SetUtils.intersect(a, b)));
+        assertEquals(SetUtils.difference(setA, setB), toSet(SetUtils.difference(a, b)));
+    }
+
+    @Test
+    void testDiffAgainstListArgument() {
+        List<Integer> b = new ArrayList<>();
+        for (int i = 0; i < 1_000; i += 2) b.add(i);
+        List<Integer> a = List.of(1, 2, 3, 4, 998, 999);
+        assertEquals(List.of(1, 3, 999), ListUtils.diff(a, b));
+        assertEquals(a, ListUtils.diff(a, null));
+    }
+
+    // -----------------------------
+    // Parallel variants
+    // -----------------------------
+    @Test
+    void testParallelVariantsMatchSequential() {
+        Random random = new Random(3);
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) list.add(random.nextInt(10) == 0 ? null : random.nextInt(20_000));
+        List<Integer> nonNull = CollectionUtils.removeNulls(list);
+
+        // threshold 0 forces the parallel path even for this size
+        assertEquals(CollectionUtils.removeNulls(list), CollectionUtils.removeNullsParallel(list, 0));
+        assertEquals(CollectionUtils.distinct(list), CollectionUtils.distinctParallel(list, 0));
+        assertEquals(ListUtils.distinctBy(nonNull, x -> x % 1_000), ListUtils.distinctByParallel(nonNull, x -> x % 1_000, 0));
+        assertEquals(ListUtils.distinctBy(list, Objects::hashCode), ListUtils.distinctByParallel(list, Objects::hashCode, 0));
+
+        List<int[]> pairs = new ArrayList<>();
+        for (int i = 0; i < nonNull.size(); i++) pairs.add(new int[]{nonNull.get(i) % 500, i});
+        Map<Integer, int[]> sequential = CollectionUtils.toMap(pairs, p -> p[0]);
+        Map<Integer, int[]> parallel = CollectionUtils.toMapParallel(pairs, p -> p[0], 0);
+        assertEquals(sequential.keySet(), parallel.keySet());
+        sequential.forEach((k, v) -> assertSame(v, parallel.get(k), "latest value wins for key " + k));
+
+        Map<Integer, Integer> map = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) map.put(i, random.nextInt(100));
+        assertEquals(MapUtils.filter(map, e -> e.getValue() < 30), MapUtils.filterParallel(map, e -> e.getValue() < 30, 0));
+    }
+
+    @Test
+    void testParallelVariantsBelowThreshold() {
+        assertEquals(List.of(1, 2), CollectionUtils.distinctParallel(List.of(1, 2, 1)));
+        assertEquals(List.of("a"), ListUtils.distinctByParallel(List.of("a", "A"), String::toLowerCase));
+        assertTrue(CollectionUtils.removeNullsParallel(null).isEmpty());
+        assertTrue(MapUtils.filterParallel(null, e -> true).isEmpty());
+    }
+
+    private static Set<Long> toSet(long[] values) {
+        Set<Long> set = new HashSet<>();
+        for (long v : values) assertTrue(set.add(v), "duplicate " + v);
+        return set;
+    }
 }
@@ -0,0 +1,61 @@
+package com.leratortech.toolkit.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongHashSetTest {
+
+    @Test
+    void testAddContainsRemove() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.add(0));
+        assertTrue(set.add(-1));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertFalse(set.add(0));
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(Long.MIN_VALUE));
+        assertFalse(set.contains(1));
+
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertFalse(set.contains(0));
+        assertEquals("[-9223372036854775808, -1]", set.toString());
+        set.clear();
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void testMatchesHashSetUnderRandomOps() {
+        Random random = new Random(42);
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            // small key range so adds, hits and removes (with backward shifts) all happen often
+            long v = random.nextInt(5_000) - 100;
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.add(v), set.add(v));
+                case 1 -> assertEquals(expected.remove(v), set.remove(v));
+                default -> assertEquals(expected.contains(v), set.contains(v));
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        long[] values = set.toArray();
+        Arrays.sort(values);
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).sorted().toArray(), values);
+    }
+
+    @Test
+    void testCapacityLimit() {
+        // filling a real table to 2^29 entries needs 4 GB, so check the sizing rules directly
+        assertEquals(PrimitiveHashing.MAX_CAPACITY, PrimitiveHashing.tableSizeFor(PrimitiveHashing.MAX_SIZE));
+        assertEquals(PrimitiveHashing.MAX_CAPACITY, PrimitiveHashing.tableSizeFor(Integer.MAX_VALUE));
+        assertDoesNotThrow(() -> PrimitiveHashing.checkCapacity(PrimitiveHashing.MAX_SIZE - 1));
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> PrimitiveHashing.checkCapacity(PrimitiveHashing.MAX_SIZE));
+        assertTrue(e.getMessage().startsWith("capacity exceeded"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.leratortech.toolkit.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapUtilsTest {
+
+    @Test
+    void testMergeLaterWins() {
+        Map<String, Integer> merged = MapUtils.merge(Map.of("a", 1, "b", 2), null, Map.of("b", 3, "c", 4));
+        assertEquals(Map.of("a", 1, "b", 3, "c", 4), merged);
+        assertTrue(MapUtils.merge().isEmpty());
+    }
+
+    @Test
+    void testMergeKeepsLaterNullValue() {
+        Map<String, Integer> withNull = new HashMap<>();
+        withNull.put("a", null);
+        Map<String, Integer> merged = MapUtils.merge(Map.of("a", 1, "b", 2), withNull);
+        assertTrue(merged.containsKey("a"));
+        assertNull(merged.get("a"));
+        assertEquals(2, merged.get("b"));
+
+        EnumMap<DayOfWeek, Integer> days = new EnumMap<>(Map.of(DayOfWeek.MONDAY, 1));
+        Map<DayOfWeek, Integer> nullMonday = new HashMap<>();
+        nullMonday.put(DayOfWeek.MONDAY, null);
+        Map<DayOfWeek, Integer> mergedDays = MapUtils.merge(days, nullMonday);
+        assertTrue(mergedDays.containsKey(DayOfWeek.MONDAY));
+        assertNull(mergedDays.get(DayOfWeek.MONDAY));
+    }
+
+    @Test
+    void testMergeWithFunctionAndFactory() {
+        List<Map<String, Integer>> prices = List.of(Map.of("a", 1, "b", 2), Map.of("b", 3), Map.of("a", 10));
+        assertEquals(Map.of("a", 11, "b", 5), MapUtils.merge(prices, Integer::sum));
+
+        TreeMap<String, Integer> sorted = MapUtils.merge(prices, Math::max, n -> new TreeMap<>());
+        assertEquals(List.of("a", "b"), new ArrayList<>(sorted.keySet()));
+        assertEquals(10, sorted.get("a"));
+
+        // a null merge result drops the key, like Map.merge
+        assertEquals(Map.of("a", 11), MapUtils.merge(prices, (x, y) -> x == 2 ? null : x + y));
+    }
+
+    @Test
+    void testEnumMapFastPath() {
+        Map<DayOfWeek, Integer> weekdays = new EnumMap<>(DayOfWeek.class);
+        weekdays.put(DayOfWeek.MONDAY, 1);
+        weekdays.put(DayOfWeek.FRIDAY, 5);
+
+        Map<DayOfWeek, Integer> merged = MapUtils.merge(weekdays, Map.of(DayOfWeek.MONDAY, 7, DayOfWeek.SUNDAY, 0));
+        assertInstanceOf(EnumMap.class, merged);
+        assertEquals(List.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY, DayOfWeek.SUNDAY), new ArrayList<>(merged.keySet()));
+        assertEquals(7, merged.get(DayOfWeek.MONDAY));
+        assertEquals(1, weekdays.get(DayOfWeek.MONDAY), "source untouched");
+
+        Map<DayOfWeek, Integer> filtered = MapUtils.filter(weekdays, e -> e.getValue() > 1);
+        assertInstanceOf(EnumMap.class, filtered);
+        assertEquals(Map.of(DayOfWeek.FRIDAY, 5), filtered);
+    }
+
+    @Test
+    void testMergeToImmutable() {
+        Map<String, Integer> immutable = Map.of("a", 1);
+        assertSame(immutable, MapUtils.mergeToImmutable(null, immutable, Map.of()));
+        Map<String, Integer> merged = MapUtils.mergeToImmutable(immutable, new HashMap<>(Map.of("a", 2, "b", 3)));
+        assertEquals(Map.of("a", 2, "b", 3), merged);
+        assertThrows(UnsupportedOperationException.class, () -> merged.put("c", 4));
+        assertTrue(MapUtils.mergeToImmutable().isEmpty());
+    }
+
+    @Test
+    void testFilter() {
+        Map<String, Integer> map = new HashMap<>(Map.of("a", 1, "b", 2, "c", 3));
+        assertEquals(Map.of("b", 2, "c", 3), MapUtils.filter(map, e -> e.getValue() > 1));
+        LinkedHashMap<String, Integer> linked = MapUtils.filter(map, e -> true, MapUtils::newLinkedHashMap);
+        assertEquals(map, linked);
+        assertTrue(MapUtils.filter(null, e -> true).isEmpty());
+    }
+
+    @Test
+    void testFilterParallelMatchesFilter() {
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < 1_000; i++) map.put("k" + i, i % 3 == 0 ? null : i);
+        // threshold 0 forces the parallel path
+        Map<String, Integer> parallel = MapUtils.filterParallel(map, e -> e.getValue() == null || e.getValue() % 2 == 0, 0);
+        assertEquals(MapUtils.filter(map, e -> e.getValue() == null || e.getValue() % 2 == 0), parallel);
+        assertTrue(parallel.containsKey("k0"));
+        assertNull(parallel.get("k0"));
+
+        EnumMap<DayOfWeek, Integer> days = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek d : DayOfWeek.values()) days.put(d, d == DayOfWeek.SUNDAY ? null : d.getValue());
+        Map<DayOfWeek, Integer> weekend = MapUtils.filterParallel(days, e -> e.getKey().getValue() >= 6, 0);
+        assertInstanceOf(EnumMap.class, weekend);
+        assertEquals(List.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), List.copyOf(weekend.keySet()));
+        assertNull(weekend.get(DayOfWeek.SUNDAY));
+    }
+
+    @Test
+    void testInvert() {
+        assertEquals(Map.of(1, "a", 2, "b"), MapUtils.invert(Map.of("a", 1, "b", 2)));
+        assertThrows(IllegalStateException.class, () -> MapUtils.invert(Map.of("a", 1, "b", 1)));
+
+        Map<String, Integer> shared = new LinkedHashMap<>();
+        shared.put("x", 1);
+        shared.put("y", 1);
+        shared.put("z", 2);
+        assertEquals(Map.of(1, "x", 2, "z"), MapUtils.invert(shared, (first, later) -> first));
+        assertEquals(Map.of(1, "y", 2, "z"), MapUtils.invert(shared, (first, later) -> later));
+        assertTrue(MapUtils.invert(null).isEmpty());
+    }
+}
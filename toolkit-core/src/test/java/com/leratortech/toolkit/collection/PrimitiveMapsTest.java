@@ -0,0 +1,93 @@
+package com.leratortech.toolkit.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveMapsTest {
+
+    @Test
+    void testLongObjectMap() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(-7, "minus"));
+        assertNull(map.put(1L << 40, null));
+        assertEquals("zero", map.put(0, "ZERO"));
+        assertEquals(3, map.size());
+        assertEquals("ZERO", map.get(0));
+        assertTrue(map.containsKey(1L << 40));
+        assertNull(map.get(1L << 40));
+        assertEquals("none", map.getOrDefault(5, "none"));
+        assertEquals("minus", map.putIfAbsent(-7, "other"));
+        assertEquals("five", map.computeIfAbsent(5, k -> "five"));
+
+        Map<Long, String> seen = new HashMap<>();
+        map.forEach(seen::put);
+        assertEquals(4, seen.size());
+        assertEquals("five", seen.get(5L));
+
+        assertEquals("minus", map.remove(-7));
+        assertNull(map.remove(-7));
+        assertEquals(3, map.keys().length);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(0));
+    }
+
+    @Test
+    void testLongObjectMapMatchesHashMap() {
+        Random random = new Random(5);
+        LongObjectMap<Integer> map = new LongObjectMap<>(2);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(4_000) - 50;
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.put(key, i), map.put(key, i));
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        map.forEach((key, value) -> assertEquals(expected.get(key), value));
+    }
+
+    @Test
+    void testLongLongMapCounting() {
+        Random random = new Random(9);
+        LongLongMap counts = new LongLongMap();
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(3_000);
+            if (random.nextInt(10) == 0) {
+                assertEquals(expected.remove(key) != null, counts.remove(key));
+            } else {
+                assertEquals((long) expected.merge(key, 1L, Long::sum), counts.addTo(key, 1));
+            }
+        }
+        assertEquals(expected.size(), counts.size());
+        counts.forEach((key, value) -> assertEquals(expected.get(key), value));
+        assertEquals(-1, counts.get(1_000_000, -1));
+
+        counts.put(0, 42);
+        assertEquals(42, counts.get(0, -1));
+        assertEquals(43, counts.addTo(0, 1));
+    }
+
+    @Test
+    void testIntIntMap() {
+        IntIntMap map = new IntIntMap(1);
+        for (int i = -500; i < 500; i++) map.put(i, i * 2);
+        assertEquals(1_000, map.size());
+        for (int i = -500; i < 500; i++) assertEquals(i * 2, map.get(i, Integer.MIN_VALUE));
+        for (int i = -500; i < 500; i += 2) assertTrue(map.remove(i));
+        assertEquals(500, map.size());
+        assertEquals(Integer.MIN_VALUE, map.get(0, Integer.MIN_VALUE));
+        assertEquals(2, map.get(1, Integer.MIN_VALUE));
+        int[] keys = map.keys();
+        Arrays.sort(keys);
+        assertEquals(-499, keys[0]);
+        assertEquals(499, keys[keys.length - 1]);
+    }
+}
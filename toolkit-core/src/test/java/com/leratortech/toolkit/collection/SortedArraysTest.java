@@ -0,0 +1,72 @@
+package com.leratortech.toolkit.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedArraysTest {
+
+    private static long[] sortedRandom(Random random, int size, long bound) {
+        long[] values = random.longs(size, 0, bound).toArray();
+        Arrays.sort(values);
+        return values;
+    }
+
+    @Test
+    void testMergeOperations() {
+        long[] a = {5, 1, 3, 3, 9};
+        long[] b = {3, 4, 5, 5};
+        assertArrayEquals(new long[]{3, 5}, SortedArrays.intersect(a, b));
+        assertArrayEquals(new long[]{1, 9}, SortedArrays.difference(a, b));
+        assertArrayEquals(new long[]{1, 3, 4, 5, 9}, SortedArrays.union(a, b));
+        assertArrayEquals(new long[]{1, 3, 5, 9}, SortedArrays.sortedDistinct(a));
+        assertArrayEquals(new long[]{5, 1, 3, 3, 9}, a, "inputs are not modified");
+
+        assertArrayEquals(new int[]{2}, SortedArrays.intersect(new int[]{1, 2, 2}, new int[]{2, 7}));
+        assertArrayEquals(new int[]{1}, SortedArrays.difference(new int[]{2, 1, 2}, new int[]{2, 7}));
+        assertArrayEquals(new int[]{1, 2, 7}, SortedArrays.union(new int[]{2, 1}, new int[]{7, 2}));
+        assertArrayEquals(new long[0], SortedArrays.intersect(null, b));
+        assertArrayEquals(new long[]{3, 4, 5}, SortedArrays.union(null, b));
+    }
+
+    @Test
+    void testMatchesHashingForBalancedAndSkewedSizes() {
+        Random random = new Random(11);
+        // comparable sizes merge; 20 vs 50_000 exceeds GALLOP_RATIO and gallops, from both sides
+        int[][] sizes = {{3_000, 2_000}, {20, 50_000}, {50_000, 20}, {0, 100}};
+        for (int[] size : sizes) {
+            long[] a = sortedRandom(random, size[0], 60_000);
+            long[] b = sortedRandom(random, size[1], 60_000);
+
+            Set<Long> setA = new HashSet<>(Arrays.stream(a).boxed().toList());
+            Set<Long> setB = new HashSet<>(Arrays.stream(b).boxed().toList());
+            assertEquals(new ArrayList<>(new TreeSet<>(SetUtils.intersect(setA, setB))), toList(SortedArrays.intersect(a, b)));
+            assertEquals(new ArrayList<>(new TreeSet<>(SetUtils.difference(setA, setB))), toList(SortedArrays.difference(a, b)));
+            assertEquals(new ArrayList<>(new TreeSet<>(SetUtils.union(setA, setB))), toList(SortedArrays.union(a, b)));
+
+            // sorted input takes the merge path in ListUtils / SetUtils; results must match the hashing path
+            long[] reversedB = new long[b.length];
+            for (int i = 0; i < b.length; i++) reversedB[i] = b[b.length - 1 - i];
+            assertArrayEquals(ListUtils.intersection(a, reversedB), ListUtils.intersection(a, b));
+            assertArrayEquals(ListUtils.diff(a, reversedB), ListUtils.diff(a, b));
+            assertArrayEquals(SetUtils.intersect(a, reversedB), SetUtils.intersect(a, b));
+            assertArrayEquals(SetUtils.difference(a, reversedB), SetUtils.difference(a, b));
+        }
+    }
+
+    @Test
+    void testIntGalloping() {
+        int[] small = {5, 500, 70_001};
+        int[] large = new int[100_000];
+        for (int i = 0; i < large.length; i++) large[i] = i * 2 + 1;
+        assertArrayEquals(new int[]{5, 70_001}, SortedArrays.intersect(small, large));
+        assertArrayEquals(new int[]{5, 70_001}, ListUtils.intersection(small, large));
+        assertArrayEquals(new int[]{500}, SetUtils.difference(small, large));
+    }
+
+    private static List<Long> toList(long[] values) {
+        return Arrays.stream(values).boxed().toList();
+    }
+}
@@ -0,0 +1,183 @@
+package com.leratortech.toolkit.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leratortech.toolkit.tree.MappedTree;
+import com.leratortech.toolkit.tree.TreeBuildResult;
+import com.leratortech.toolkit.tree.TreeNode;
+import com.leratortech.toolkit.tree.TreeUtils;
+import com.leratortech.toolkit.tree.TreeWalker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeJsonTest {
+
+    static class Unit {
+        public Long id;
+        public Long parentId;
+        public String name;
+
+        public Unit() {}
+        public Unit(Long id, Long parentId, String name) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+        }
+    }
+
+    private final List<TreeNode<Unit>> tree = TreeUtils.buildTree(
+            List.of(
+                    new Unit(1L, null, "Hà Nội"),
+                    new Unit(2L, 1L, "Ba Đình"),
+                    new Unit(3L, 2L, "Phúc Xá"),
+                    new Unit(4L, null, "Huế")
+            ),
+            u -> u.id,
+            u -> u.parentId
+    );
+
+    private static String shape(List<TreeNode<Unit>> roots) {
+        StringBuilder sb = new StringBuilder();
+        TreeUtils.walk(roots, TreeWalker.Order.PRE_ORDER, (node, depth) -> {
+            sb.append(depth).append(':').append(node.getData().name).append(' ');
+            return true;
+        });
+        return sb.toString();
+    }
+
+    @Test
+    void testNestedJson() {
+        String json = TreeJson.toJson(tree, TreeJsonOptions.defaults());
+        assertEquals("[{\"id\":1,\"parentId\":null,\"name\":\"Hà Nội\",\"children\":[{\"id\":2,\"parentId\":1,\"name\":\"Ba Đình\","
+                + "\"children\":[{\"id\":3,\"parentId\":2,\"name\":\"Phúc Xá\"}]}]},{\"id\":4,\"parentId\":null,\"name\":\"Huế\"}]", json);
+        assertEquals(json, JsonUtils.toJson(tree), "module on JsonUtils writes the same nested form");
+
+        List<TreeNode<Unit>> back = TreeJson.fromJson(json, Unit.class, TreeJsonOptions.defaults());
+        assertEquals(shape(tree), shape(back));
+        assertSame(back.get(0), back.get(0).getChildren().get(0).getParent());
+    }
+
+    @Test
+    void testModuleDeserializesTypedTreeNodes() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new TreeJsonModule());
+        String json = mapper.writeValueAsString(tree);
+        List<TreeNode<Unit>> back = mapper.readValue(json, new TypeReference<>() {});
+        assertEquals(shape(tree), shape(back));
+        assertEquals(Unit.class, back.get(0).getData().getClass());
+    }
+
+    @Test
+    void testChildrenBeforeDataFields() {
+        String json = "[{\"children\":[{\"name\":\"b\",\"id\":2}],\"id\":1,\"name\":\"a\"}]";
+        List<TreeNode<Unit>> back = TreeJson.fromJson(json, Unit.class, TreeJsonOptions.defaults());
+        assertEquals("0:a 1:b ", shape(back));
+    }
+
+    @Test
+    void testDepthLimitAndProjection() {
+        TreeJsonOptions<Unit> options = TreeJsonOptions.<Unit>defaults()
+                .maxDepth(2)
+                .childrenField("items")
+                .field("label", u -> u.name);
+        assertEquals("[{\"label\":\"Hà Nội\",\"items\":[{\"label\":\"Ba Đình\"}]},{\"label\":\"Huế\"}]",
+                TreeJson.toJson(tree, options));
+
+        String full = TreeJson.toJson(tree, TreeJsonOptions.defaults());
+        assertThrows(RuntimeException.class,
+                () -> TreeJson.fromJson(full, Unit.class, TreeJsonOptions.<Unit>defaults().maxDepth(2)));
+    }
+
+    @Test
+    void testScalarDataGoesUnderDataField() {
+        List<TreeNode<String>> strings = new ArrayList<>();
+        TreeNode<String> root = new TreeNode<>("root");
+        root.addChild(new TreeNode<>("leaf"));
+        strings.add(root);
+
+        String json = TreeJson.toJson(strings, TreeJsonOptions.defaults());
+        assertEquals("[{\"data\":\"root\",\"children\":[{\"data\":\"leaf\"}]}]", json);
+        assertEquals("leaf", TreeJson.fromJson(json, String.class, TreeJsonOptions.defaults()).get(0).getChildren().get(0).getData());
+    }
+
+    @Test
+    void testFlatStreamingRoundTrip() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TreeJson.writeFlat(out, tree, TreeJsonOptions.defaults());
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("[{\"id\":1,\"parentId\":null,\"name\":\"Hà Nội\"},{\"id\":2,"));
+
+        TreeBuildResult<Unit, Long> result = TreeJson.readFlat(
+                new ByteArrayInputStream(out.toByteArray()), Unit.class, u -> u.id, u -> u.parentId);
+        assertTrue(result.isClean());
+        assertEquals(shape(tree), shape(result.getRoots()));
+    }
+
+    @Test
+    void testFlatIdsFromStructure() {
+        TreeJsonOptions<Unit> options = TreeJsonOptions.<Unit>defaults()
+                .ids(u -> u.id)
+                .field("name", u -> u.name);
+        assertEquals("[{\"id\":1,\"parentId\":null,\"name\":\"Hà Nội\"},{\"id\":2,\"parentId\":1,\"name\":\"Ba Đình\"},"
+                + "{\"id\":3,\"parentId\":2,\"name\":\"Phúc Xá\"},{\"id\":4,\"parentId\":null,\"name\":\"Huế\"}]",
+                TreeJson.toFlatJson(tree, options));
+    }
+
+    @Test
+    void testDeepTreeHasNoRecursion() {
+        TreeNode<Unit> root = new TreeNode<>(new Unit(0L, null, "n0"));
+        TreeNode<Unit> current = root;
+        for (long i = 1; i < 100_000; i++) {
+            TreeNode<Unit> child = new TreeNode<>(new Unit(i, i - 1, "n" + i));
+            current.addChild(child);
+            current = child;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TreeJson.write(out, List.of(root), TreeJsonOptions.defaults());
+        List<TreeNode<Unit>> back = TreeJson.read(new ByteArrayInputStream(out.toByteArray()), Unit.class, TreeJsonOptions.defaults());
+        assertEquals(100_000, TreeUtils.countNodes(back));
+        assertEquals(100_000, TreeUtils.getHeight(back));
+    }
+
+    /** Recursive bean for the nesting-limit test */
+    public static class Nested {
+        public Nested a;
+    }
+
+    @Test
+    void testDeepInputOnlyAcceptedByTreeJson() {
+        TreeNode<Unit> root = new TreeNode<>(new Unit(0L, null, "n0"));
+        TreeNode<Unit> current = root;
+        for (long i = 1; i < 5_000; i++) {
+            TreeNode<Unit> child = new TreeNode<>(new Unit(i, i - 1, "n" + i));
+            current.addChild(child);
+            current = child;
+        }
+        String json = TreeJson.toJson(List.of(root), TreeJsonOptions.defaults());
+        assertEquals(5_000, TreeUtils.getHeight(TreeJson.fromJson(json, Unit.class, TreeJsonOptions.defaults())));
+
+        // the shared mapper keeps Jackson's nesting limit: a clean failure, not a StackOverflowError
+        assertThrows(RuntimeException.class, () -> JsonUtils.toJson(root));
+        String deepBean = "{\"a\":".repeat(200_000) + "null" + "}".repeat(200_000);
+        RuntimeException e = assertThrows(RuntimeException.class, () -> JsonUtils.fromJson(deepBean, Nested.class));
+        assertInstanceOf(JsonProcessingException.class, e.getCause());
+    }
+
+    @Test
+    void testMappedTreeJsonPayloads(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("units.tree");
+        TreeUtils.writeMapped(tree, file, TreeJson.mappedCodec(Unit.class), u -> u.id);
+
+        MappedTree<Unit> mapped = TreeUtils.openMapped(file, TreeJson.mappedCodec(Unit.class));
+        assertEquals("Phúc Xá", mapped.get(3L).orElseThrow().name);
+        assertEquals(shape(tree), shape(mapped.toTreeNodes()));
+    }
+}
@@ -0,0 +1,54 @@
+package com.leratortech.toolkit.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactTreeTest {
+
+    private final List<Category> categories = List.of(
+            new Category(1L, null, "Electronics"),
+            new Category(2L, 1L, "Laptops"),
+            new Category(3L, 1L, "Phones"),
+            new Category(4L, 2L, "Gaming Laptops"),
+            new Category(5L, null, "Books"),
+            new Category(6L, 5L, "Fiction"),
+            new Category(7L, 5L, "Non-fiction")
+    );
+
+    private final CompactTree<Category> tree = TreeUtils.buildCompactTree(categories, Category::getId, Category::getParentId);
+    private final List<TreeNode<Category>> linked = TreeUtils.buildTree(categories, Category::getId, Category::getParentId);
+
+    private List<Category> data(int[] nodes) {
+        return Arrays.stream(nodes).mapToObj(tree::getData).toList();
+    }
+
+    @Test
+    void testSameShapeAsTreeNode() {
+        assertEquals(TreeUtils.flattenData(linked), tree.flattenData());
+        assertEquals(TreeUtils.flattenData(linked), data(tree.flatten()));
+        assertEquals(TreeUtils.getHeight(linked), tree.getHeight());
+        assertEquals(TreeUtils.flattenData(tree.toTreeNodes()), tree.flattenData());
+        assertEquals(List.of(categories.get(0), categories.get(4)), data(tree.getRoots()));
+    }
+
+    @Test
+    void testSearch() {
+        int electronics = tree.findNodeById(Category::getId, 1L);
+        int gaming = tree.findNode(c -> c.getName().startsWith("Gaming"));
+        assertEquals(0, electronics);
+        assertEquals(3, gaming);
+        assertEquals(CompactTree.NONE, tree.findNodeById(Category::getId, 99L));
+
+        assertEquals(List.of("Laptops", "Gaming Laptops", "Phones"),
+                data(tree.getDescendants(electronics)).stream().map(Category::getName).toList());
+        assertEquals(List.of("Electronics", "Laptops"),
+                data(tree.getAncestors(gaming)).stream().map(Category::getName).toList());
+        assertEquals(2, tree.getDepth(gaming));
+        assertEquals(4, tree.subtreeSize(electronics));
+        assertEquals(0, tree.getDescendants(gaming).length);
+    }
+}
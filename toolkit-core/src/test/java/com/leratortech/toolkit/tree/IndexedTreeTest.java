@@ -0,0 +1,84 @@
+package com.leratortech.toolkit.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedTreeTest {
+
+    private final IndexedTree<Category, Long> tree = TreeUtils.buildIndexedTree(
+            List.of(
+                    new Category(1L, null, "Electronics"),
+                    new Category(2L, 1L, "Laptops"),
+                    new Category(3L, 1L, "Phones"),
+                    new Category(4L, 2L, "Gaming Laptops"),
+                    new Category(5L, null, "Books"),
+                    new Category(6L, 99L, "Orphan")
+            ),
+            Category::getId,
+            Category::getParentId
+    );
+
+    private static List<String> names(List<TreeNode<Category>> nodes) {
+        return nodes.stream().map(n -> n.getData().getName()).toList();
+    }
+
+    @Test
+    void testLookups() {
+        assertEquals(6, tree.size());
+        assertEquals("Gaming Laptops", tree.get(4L).getData().getName());
+        assertEquals("Laptops", tree.parentOf(4L).getData().getName());
+        assertEquals(2L, tree.parentIdOf(4L));
+        assertEquals(List.of("Laptops", "Phones"), names(tree.childrenOf(1L)));
+        assertTrue(tree.childrenOf(4L).isEmpty());
+        assertTrue(tree.isAncestor(1L, 4L));
+        assertFalse(tree.isAncestor(4L, 1L));
+        assertFalse(tree.isAncestor(5L, 4L));
+    }
+
+    @Test
+    void testRootsAndUnknownIds() {
+        // unknown parent id makes a root, like a null one
+        assertEquals(List.of("Electronics", "Books", "Orphan"), names(tree.getRoots()));
+        assertNull(tree.parentOf(1L));
+        assertNull(tree.parentIdOf(6L));
+
+        assertFalse(tree.contains(42L));
+        assertNull(tree.get(42L));
+        assertTrue(tree.find(42L).isEmpty());
+        assertNull(tree.parentOf(42L));
+        assertTrue(tree.childrenOf(42L).isEmpty());
+        assertFalse(tree.isAncestor(42L, 4L));
+        assertNull(tree.idOf(null));
+    }
+
+    @Test
+    void testLastDuplicateWinsIndexSlot() {
+        IndexedTree<Category, Long> dup = TreeUtils.buildIndexedTree(
+                List.of(
+                        new Category(1L, null, "Root"),
+                        new Category(2L, 1L, "First"),
+                        new Category(2L, 1L, "Second"),
+                        new Category(3L, 2L, "Child")
+                ),
+                Category::getId,
+                Category::getParentId
+        );
+        // both duplicates stay in the tree, only the last one is indexed and receives the children
+        assertEquals(List.of("First", "Second"), names(dup.childrenOf(1L)));
+        assertEquals("Second", dup.get(2L).getData().getName());
+        assertEquals(List.of("Child"), names(dup.childrenOf(2L)));
+        assertEquals("Second", dup.parentOf(3L).getData().getName());
+        assertEquals(3, dup.size());
+    }
+
+    @Test
+    void testEmpty() {
+        IndexedTree<Category, Long> empty = TreeUtils.buildIndexedTree(List.of(), Category::getId, Category::getParentId);
+        assertTrue(empty.isEmpty());
+        assertTrue(empty.getRoots().isEmpty());
+        assertNull(empty.get(1L));
+    }
+}
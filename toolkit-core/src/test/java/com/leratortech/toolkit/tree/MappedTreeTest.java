@@ -0,0 +1,170 @@
+package com.leratortech.toolkit.tree;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class MappedTreeTest {
+
+    /** "id|parentId|name" as UTF-8, since Category has no JSON constructor */
+    private static final MappedTree.Codec<Category> CODEC = new MappedTree.Codec<>() {
+        @Override
+        public byte[] encode(Category c) {
+            return (c.getId() + "|" + c.getParentId() + "|" + c.getName()).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Category decode(ByteBuffer bytes) {
+            String[] parts = StandardCharsets.UTF_8.decode(bytes).toString().split("\\|", 3);
+            return new Category(Long.valueOf(parts[0]), "null".equals(parts[1]) ? null : Long.valueOf(parts[1]), parts[2]);
+        }
+    };
+
+    private final List<TreeNode<Category>> tree = TreeUtils.buildTree(
+            List.of(
+                    new Category(1L, null, "Electronics"),
+                    new Category(2L, 1L, "Laptops"),
+                    new Category(3L, 1L, "Phones"),
+                    new Category(4L, 2L, "Gaming Laptops"),
+                    new Category(5L, null, "Books"),
+                    new Category(6L, 5L, "Fiction"),
+                    new Category(7L, 5L, "Non-fiction")
+            ),
+            Category::getId,
+            Category::getParentId
+    );
+
+    private static List<String> names(List<TreeNode<Category>> roots) {
+        return TreeUtils.flattenData(roots).stream().map(Category::getName).toList();
+    }
+
+    private static List<String> names(MappedTree<Category> mapped, int[] nodes) {
+        return Arrays.stream(nodes).mapToObj(i -> mapped.getData(i).getName()).toList();
+    }
+
+    private MappedTree<Category> roundTrip(Path dir, List<TreeNode<Category>> roots) throws IOException {
+        Path file = dir.resolve("categories.tree");
+        MappedTree.write(roots, file, CODEC, Category::getId);
+        return MappedTree.open(file, CODEC);
+    }
+
+    @Test
+    void testStructureAndIds(@TempDir Path dir) throws IOException {
+        MappedTree<Category> mapped = roundTrip(dir, tree);
+
+        assertEquals(7, mapped.size());
+        assertEquals(names(tree), mapped.flattenData().stream().map(Category::getName).toList());
+        assertEquals(List.of("Electronics", "Books"), names(mapped, mapped.getRoots()));
+        assertEquals(TreeUtils.getHeight(tree), mapped.getHeight());
+
+        int electronics = mapped.indexOf(1L);
+        int gaming = mapped.indexOf(4L);
+        assertEquals(List.of("Laptops", "Phones"), names(mapped, mapped.getChildren(electronics)));
+        assertEquals(List.of("Laptops", "Gaming Laptops", "Phones"), names(mapped, mapped.getDescendants(electronics)));
+        assertEquals(List.of("Electronics", "Laptops"), names(mapped, mapped.getAncestors(gaming)));
+        assertEquals(2, mapped.getDepth(gaming));
+        assertEquals(4, mapped.subtreeSize(electronics));
+        assertTrue(mapped.isAncestor(electronics, gaming));
+        assertFalse(mapped.isAncestor(mapped.indexOf(5L), gaming));
+        assertTrue(mapped.isLeaf(gaming));
+
+        assertEquals(MappedTree.NONE, mapped.indexOf(99L));
+        assertEquals("Fiction", mapped.get(6L).orElseThrow().getName());
+        assertEquals(mapped.indexOf(7L), mapped.findNode(c -> c.getName().startsWith("Non")));
+        assertEquals(names(tree), names(mapped.toTreeNodes()));
+    }
+
+    @Test
+    void testWalkSubtreeDepths(@TempDir Path dir) throws IOException {
+        MappedTree<Category> mapped = roundTrip(dir, tree);
+        StringBuilder sb = new StringBuilder();
+        mapped.walkSubtree(mapped.indexOf(1L), (node, depth) -> {
+            sb.append(depth).append(mapped.getData(node).getName().charAt(0));
+            return true;
+        });
+        assertEquals("0E1L2G1P", sb.toString());
+    }
+
+    @Test
+    void testLargeRandomForestMatchesLinkedTree(@TempDir Path dir) throws IOException {
+        List<TreeNode<Category>> roots = TreeUtils.buildTree(TreeBuilderTest.randomCategories(20_000, 7),
+                Category::getId, Category::getParentId);
+        MappedTree<Category> mapped = roundTrip(dir, roots);
+
+        TreeIntervalIndex<Category> index = TreeUtils.intervalIndex(roots);
+        assertEquals(index.size(), mapped.size());
+        for (int i = 0; i < index.size(); i += 97) {
+            assertEquals(index.parentIndex(i), mapped.getParent(i));
+            assertEquals(index.subtreeEnd(i), mapped.subtreeEnd(i));
+            assertEquals(i, mapped.indexOf(index.nodeAt(i).getData().getId()));
+        }
+    }
+
+    @Test
+    void testWithoutIdIndexAndBadFiles(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("plain.tree");
+        MappedTree.write(tree, file, CODEC);
+        MappedTree<Category> mapped = MappedTree.open(file, CODEC);
+        assertFalse(mapped.hasIdIndex());
+        assertThrows(IllegalStateException.class, () -> mapped.indexOf(1L));
+
+        Path empty = dir.resolve("empty.tree");
+        MappedTree.write(List.of(), empty, MappedTree.Codec.utf8(), s -> 0L);
+        assertEquals(0, MappedTree.open(empty, MappedTree.Codec.utf8()).size());
+
+        Path garbage = Files.writeString(dir.resolve("garbage.tree"), "not a tree");
+        assertThrows(IOException.class, () -> MappedTree.open(garbage, CODEC));
+
+        List<TreeNode<Category>> duplicated = List.of(new TreeNode<>(new Category(1L, null, "A")), new TreeNode<>(new Category(1L, null, "B")));
+        assertThrows(IllegalArgumentException.class, () -> MappedTree.write(duplicated, dir.resolve("dup.tree"), CODEC, Category::getId));
+    }
+
+    @Test
+    void testRewriteWhileOpen(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("categories.tree");
+        MappedTree.write(tree, file, CODEC, Category::getId);
+        MappedTree<Category> old = MappedTree.open(file, CODEC);
+        List<String> before = names(old, old.getDescendants(0));
+
+        // a smaller tree over the same path: the old mapping must stay fully readable
+        List<TreeNode<Category>> books = List.of(tree.get(1));
+        MappedTree.write(books, file, CODEC, Category::getId);
+        for (int i = 0; i < old.size(); i++) assertNotNull(old.getData(i).getName());
+        assertEquals(before, names(old, old.getDescendants(0)));
+        assertEquals(7, old.size());
+        assertEquals(6, old.indexOf(7L));
+
+        MappedTree<Category> reopened = MappedTree.open(file, CODEC);
+        assertEquals(names(books), reopened.flattenData().stream().map(Category::getName).toList());
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(file), files.toList(), "no temp file left behind");
+        }
+    }
+
+    @Test
+    void testRewriteKeepsPermissions(@TempDir Path dir) throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Path file = dir.resolve("categories.tree");
+        MappedTree.write(tree, file, CODEC);
+        Set<PosixFilePermission> custom = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(file, custom);
+
+        MappedTree.write(tree, file, CODEC);
+        assertEquals(custom, Files.getPosixFilePermissions(file));
+        assertEquals(7, MappedTree.open(file, CODEC).size());
+    }
+}
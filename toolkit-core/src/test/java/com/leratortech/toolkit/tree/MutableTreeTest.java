@@ -0,0 +1,151 @@
+package com.leratortech.toolkit.tree;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MutableTreeTest {
+
+    private MutableTree<Category, Long> tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = MutableTree.of(
+                List.of(
+                        new Category(1L, null, "Electronics"),
+                        new Category(2L, 1L, "Laptops"),
+                        new Category(3L, 1L, "Phones"),
+                        new Category(4L, 2L, "Gaming Laptops"),
+                        new Category(5L, null, "Books"),
+                        new Category(6L, 5L, "Fiction")
+                ),
+                Category::getId,
+                Category::getParentId
+        );
+    }
+
+    @Test
+    void testInitialAggregates() {
+        assertEquals(6, tree.size());
+        assertEquals(4, tree.subtreeSize(1L));
+        assertEquals(2, tree.subtreeSize(2L));
+        assertEquals(2, tree.depth(4L));
+        assertEquals(0, tree.depth(5L));
+    }
+
+    @Test
+    void testInsert() {
+        tree.insert(new Category(7L, 4L, "Ultrabooks"));
+        assertEquals(7, tree.size());
+        assertSame(tree.get(4L), tree.parentOf(7L));
+        assertEquals(3, tree.depth(7L));
+        assertEquals(5, tree.subtreeSize(1L));
+        assertEquals(2, tree.subtreeSize(4L));
+
+        tree.insert(new Category(8L, null, "Toys"));
+        assertEquals(3, tree.getRoots().size());
+        assertThrows(IllegalArgumentException.class, () -> tree.insert(new Category(8L, null, "Duplicate")));
+    }
+
+    @Test
+    void testRemoveSubtree() {
+        TreeNode<Category> removed = tree.remove(2L);
+        assertEquals("Laptops", removed.getData().getName());
+        assertNull(removed.getParent());
+        assertEquals(4, tree.size());
+        assertFalse(tree.contains(4L));
+        assertEquals(2, tree.subtreeSize(1L));
+        assertEquals(List.of(tree.get(3L)), tree.childrenOf(1L));
+
+        assertNotNull(tree.remove(5L));
+        assertEquals(1, tree.getRoots().size());
+        assertNull(tree.remove(42L));
+    }
+
+    @Test
+    void testMove() {
+        tree.move(2L, 5L);
+        assertSame(tree.get(5L), tree.parentOf(2L));
+        assertEquals(2, tree.subtreeSize(1L));
+        assertEquals(4, tree.subtreeSize(5L));
+        assertEquals(2, tree.depth(4L));
+
+        tree.move(5L, 3L);
+        assertEquals(1, tree.getRoots().size());
+        assertEquals(6, tree.subtreeSize(1L));
+        assertEquals(4, tree.depth(4L));
+
+        tree.move(2L, null);
+        assertEquals(2, tree.getRoots().size());
+        assertEquals(0, tree.depth(2L));
+        assertEquals(4, tree.subtreeSize(1L));
+        assertEquals(TreeUtils.flatten(tree.getRoots()).size(), tree.size());
+    }
+
+    @Test
+    void testMoveRejectsCycles() {
+        assertThrows(IllegalArgumentException.class, () -> tree.move(1L, 4L));
+        assertThrows(IllegalArgumentException.class, () -> tree.move(2L, 2L));
+        assertThrows(NoSuchElementException.class, () -> tree.move(2L, 42L));
+        assertEquals(4, tree.subtreeSize(1L));
+    }
+
+    @Test
+    void testReplaceKeepsPositionAndChildren() {
+        TreeNode<Category> old = tree.get(2L);
+        TreeNode<Category> node = tree.replace(2L, new Category(2L, 1L, "Notebooks"));
+
+        assertNotSame(old, node);
+        assertSame(node, tree.get(2L));
+        assertSame(node, tree.childrenOf(1L).get(0));
+        assertSame(node, tree.parentOf(4L));
+        assertEquals(2, tree.subtreeSize(2L));
+        assertThrows(IllegalArgumentException.class, () -> tree.replace(2L, new Category(9L, 1L, "x")));
+        assertThrows(NoSuchElementException.class, () -> tree.replace(99L, new Category(99L, null, "x")));
+    }
+
+    @Test
+    void testRemoveKeepsIndexOfLiveDuplicate() {
+        MutableTree<Category, Long> dup = MutableTree.of(
+                List.of(
+                        new Category(1L, null, "A"),
+                        new Category(2L, 1L, "Shadowed"),
+                        new Category(5L, null, "B"),
+                        new Category(2L, 5L, "Live")
+                ),
+                Category::getId,
+                Category::getParentId
+        );
+        assertEquals("Live", dup.get(2L).getData().getName());
+
+        dup.remove(1L);
+        assertFalse(dup.contains(1L));
+        assertTrue(dup.contains(2L));
+        assertEquals("Live", dup.get(2L).getData().getName());
+        assertSame(dup.get(5L), dup.parentOf(2L));
+    }
+
+    @Test
+    void testParentCycleFailsInsteadOfLooping() {
+        // 1 and 2 point at each other: both are linked, neither is reachable from a root
+        MutableTree<Category, Long> cyclic = MutableTree.of(
+                List.of(
+                        new Category(1L, 2L, "A"),
+                        new Category(2L, 1L, "B"),
+                        new Category(3L, null, "Root")
+                ),
+                Category::getId,
+                Category::getParentId
+        );
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThrows(IllegalArgumentException.class, () -> cyclic.depth(1L));
+            assertThrows(IllegalArgumentException.class, () -> cyclic.move(3L, 1L));
+            assertEquals(0, cyclic.depth(3L));
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.leratortech.toolkit.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrunedTreeTest {
+
+    private final List<TreeNode<Category>> tree = TreeUtils.buildTree(
+            List.of(
+                    new Category(1L, null, "Electronics"),
+                    new Category(2L, 1L, "Laptops"),
+                    new Category(3L, 1L, "Phones"),
+                    new Category(4L, 2L, "Gaming Laptops"),
+                    new Category(5L, null, "Books"),
+                    new Category(6L, 5L, "Fiction"),
+                    new Category(7L, 3L, "Gaming Phones")
+            ),
+            Category::getId,
+            Category::getParentId
+    );
+
+    private static List<String> names(List<TreeNode<Category>> nodes) {
+        return nodes.stream().map(n -> n.getData().getName()).toList();
+    }
+
+    @Test
+    void testKeepsMatchesAndAncestors() {
+        PrunedTree<Category> view = TreeUtils.prune(tree, n -> n.getData().getName().startsWith("Gaming"));
+
+        assertEquals(List.of("Electronics", "Laptops", "Gaming Laptops", "Phones", "Gaming Phones"), names(view.flatten()));
+        assertEquals(List.of("Electronics"), names(view.getRoots()));
+        assertEquals(List.of("Laptops", "Phones"), names(view.childrenOf(tree.get(0))));
+        assertTrue(view.childrenOf(tree.get(1)).isEmpty(), "Books is not in the view");
+        assertTrue(view.isMatch(tree.get(0).getChildren().get(0).getChildren().get(0)));
+        assertFalse(view.isMatch(tree.get(0)));
+        assertTrue(view.contains(tree.get(0)));
+        assertEquals(5, view.size());
+        assertEquals(1, tree.get(1).getChildren().size(), "original tree untouched");
+    }
+
+    @Test
+    void testEmptyAndFullViews() {
+        assertTrue(TreeUtils.prune(tree, n -> false).isEmpty());
+        assertTrue(TreeUtils.prune(tree, n -> false).getRoots().isEmpty());
+        PrunedTree<Category> all = TreeUtils.prune(tree, n -> true);
+        assertEquals(TreeUtils.flatten(tree), all.flatten());
+        assertEquals(TreeUtils.flattenData(tree), TreeUtils.flattenData(all.toTreeNodes()));
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        List<TreeNode<Category>> roots = TreeBuilder.buildTree(TreeBuilderTest.randomCategories(100_000, 9),
+                Category::getId, Category::getParentId);
+        TreeIntervalIndex<Category> index = TreeIntervalIndex.of(roots);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            PrunedTree<Category> sequential = PrunedTree.of(index, n -> n.getData().getId() % 997 == 0);
+            PrunedTree<Category> parallel = PrunedTree.ofParallel(index, n -> n.getData().getId() % 997 == 0, pool);
+            assertEquals(sequential.flatten(), parallel.flatten());
+
+            // every kept node is a match or an ancestor of one
+            Set<TreeNode<Category>> expected = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (TreeNode<Category> node : index.nodes()) {
+                if (node.getData().getId() % 997 != 0) continue;
+                for (TreeNode<Category> p = node; p != null && expected.add(p); p = p.getParent()) { }
+            }
+            assertEquals(expected.size(), sequential.size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
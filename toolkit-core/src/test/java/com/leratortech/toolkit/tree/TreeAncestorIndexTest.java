@@ -0,0 +1,71 @@
+package com.leratortech.toolkit.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeAncestorIndexTest {
+
+    private final IndexedTree<AdministrativeUnit, Long> tree = TreeUtils.buildIndexedTree(
+            List.of(
+                    new AdministrativeUnit(1L, null, "Hà Nội", "Thành phố"),
+                    new AdministrativeUnit(2L, 1L, "Quận Ba Đình", "Quận"),
+                    new AdministrativeUnit(3L, 1L, "Quận Hoàn Kiếm", "Quận"),
+                    new AdministrativeUnit(4L, 2L, "Phường Phúc Xá", "Phường"),
+                    new AdministrativeUnit(5L, 2L, "Phường Trúc Bạch", "Phường"),
+                    new AdministrativeUnit(6L, 3L, "Phường Hàng Bạc", "Phường"),
+                    new AdministrativeUnit(7L, null, "TP Hồ Chí Minh", "Thành phố"),
+                    new AdministrativeUnit(8L, 7L, "Quận 1", "Quận"),
+                    new AdministrativeUnit(9L, 8L, "Phường Bến Nghé", "Phường")
+            ),
+            AdministrativeUnit::getId,
+            AdministrativeUnit::getParentId
+    );
+
+    private final TreeAncestorIndex<AdministrativeUnit> index = TreeUtils.ancestorIndex(tree.getRoots());
+
+    @Test
+    void testLowestCommonAncestor() {
+        assertSame(tree.get(2L), index.lowestCommonAncestor(tree.get(4L), tree.get(5L)));
+        assertSame(tree.get(1L), index.lowestCommonAncestor(tree.get(4L), tree.get(6L)));
+        assertSame(tree.get(2L), index.lowestCommonAncestor(tree.get(2L), tree.get(5L)));
+        assertSame(tree.get(4L), index.lowestCommonAncestor(tree.get(4L), tree.get(4L)));
+        assertNull(index.lowestCommonAncestor(tree.get(4L), tree.get(9L)));
+    }
+
+    @Test
+    void testLevelAncestor() {
+        assertSame(tree.get(4L), index.kthAncestor(tree.get(4L), 0));
+        assertSame(tree.get(2L), index.kthAncestor(tree.get(4L), 1));
+        assertSame(tree.get(1L), index.kthAncestor(tree.get(4L), 2));
+        assertNull(index.kthAncestor(tree.get(4L), 3));
+        assertSame(tree.get(7L), index.ancestorAtDepth(tree.get(9L), 0));
+        assertSame(tree.get(8L), index.ancestorAtDepth(tree.get(9L), 1));
+        assertNull(index.ancestorAtDepth(tree.get(8L), 2));
+    }
+
+    @Test
+    void testDistance() {
+        assertEquals(2, index.distance(tree.get(4L), tree.get(5L)));
+        assertEquals(4, index.distance(tree.get(4L), tree.get(6L)));
+        assertEquals(-1, index.distance(tree.get(4L), tree.get(9L)));
+    }
+
+    @Test
+    void testMatchesNaiveAncestorsOnDeepChain() {
+        List<AdministrativeUnit> chain = new ArrayList<>();
+        for (long i = 1; i <= 1000; i++) chain.add(new AdministrativeUnit(i, i == 1 ? null : i - 1, "n" + i, "x"));
+        IndexedTree<AdministrativeUnit, Long> deep = TreeUtils.buildIndexedTree(chain, AdministrativeUnit::getId, AdministrativeUnit::getParentId);
+        TreeAncestorIndex<AdministrativeUnit> deepIndex = TreeUtils.ancestorIndex(deep.getRoots());
+
+        TreeNode<AdministrativeUnit> leaf = deep.get(1000L);
+        List<TreeNode<AdministrativeUnit>> ancestors = TreeUtils.getAncestors(leaf);
+        for (int depth = 0; depth < ancestors.size(); depth += 37) {
+            assertSame(ancestors.get(depth), deepIndex.ancestorAtDepth(leaf, depth));
+        }
+        assertSame(deep.get(500L), deepIndex.lowestCommonAncestor(deep.get(500L), leaf));
+    }
+}
@@ -0,0 +1,124 @@
+package com.leratortech.toolkit.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeBuilderTest {
+
+    /** Random forest in shuffled order, so parents often come after their children */
+    static List<Category> randomCategories(int size, long seed) {
+        Random random = new Random(seed);
+        List<Category> items = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Long parentId = id == 1 || random.nextInt(50) == 0 ? null : 1 + (long) random.nextInt((int) id - 1);
+            items.add(new Category(id, parentId, "c" + id));
+        }
+        Collections.shuffle(items, random);
+        return items;
+    }
+
+    private static String shape(List<TreeNode<Category>> roots) {
+        StringBuilder sb = new StringBuilder();
+        TreeWalker.walk(roots, TreeWalker.Order.PRE_ORDER, (node, depth) -> {
+            sb.append(depth).append(':').append(node.getData().getId()).append(' ');
+            return true;
+        });
+        return sb.toString();
+    }
+
+    @Test
+    void testParallelBuildMatchesSequential() {
+        List<Category> items = randomCategories(50_000, 7);
+        IndexedTree<Category, Long> sequential = TreeBuilder.buildIndexedTree(items, Category::getId, Category::getParentId);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            IndexedTree<Category, Long> parallel = TreeBuilder.buildIndexedTreeParallel(items, Category::getId, Category::getParentId, pool);
+            assertEquals(sequential.size(), parallel.size());
+            assertEquals(shape(sequential.getRoots()), shape(parallel.getRoots()));
+            assertEquals(sequential.parentIdOf(4242L), parallel.parentIdOf(4242L));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelBuildDuplicateIdsLastWins() {
+        List<Category> items = new ArrayList<>(randomCategories(5_000, 3));
+        Category duplicate = new Category(10L, null, "duplicate");
+        items.add(duplicate);
+        IndexedTree<Category, Long> parallel = TreeBuilder.buildIndexedTreeParallel(
+                items, Category::getId, Category::getParentId, ForkJoinPool.commonPool());
+        assertSame(duplicate, parallel.get(10L).getData());
+        assertSame(duplicate, TreeBuilder.buildIndexedTree(items, Category::getId, Category::getParentId).get(10L).getData());
+    }
+
+    @Test
+    void testParallelBuildEmpty() {
+        assertTrue(TreeUtils.buildTreeParallel(List.<Category>of(), Category::getId, Category::getParentId).isEmpty());
+        assertTrue(TreeUtils.buildTreeParallel(null, Category::getId, Category::getParentId).isEmpty());
+    }
+
+    @Test
+    void testLongIdBuildMatchesBoxed() {
+        List<Category> items = new ArrayList<>(randomCategories(20_000, 9));
+        items.add(new Category(10L, null, "duplicate"));
+        List<TreeNode<Category>> boxed = TreeBuilder.buildTree(items, Category::getId, Category::getParentId);
+        List<TreeNode<Category>> primitive = TreeUtils.buildTreeByLongId(items, Category::getId,
+                c -> c.getParentId() == null ? 0 : c.getParentId());
+        assertEquals(shape(boxed), shape(primitive));
+        assertTrue(TreeBuilder.buildTreeByLongId(null, Category::getId, Category::getId).isEmpty());
+    }
+
+    @Test
+    void testStreamingBuildMatchesListBuild() {
+        List<Category> items = randomCategories(20_000, 5);
+        IndexedTree<Category, Long> expected = TreeBuilder.buildIndexedTree(items, Category::getId, Category::getParentId);
+
+        TreeBuildResult<Category, Long> fromIterator = TreeBuilder.buildFrom(items.iterator(), Category::getId, Category::getParentId);
+        TreeBuildResult<Category, Long> fromStream = TreeBuilder.buildFrom(items.stream(), Category::getId, Category::getParentId);
+
+        assertTrue(fromIterator.isClean());
+        assertEquals(expected.size(), fromIterator.getTree().size());
+        assertEquals(shape(expected.getRoots()), shape(fromIterator.getRoots()));
+        assertEquals(shape(expected.getRoots()), shape(fromStream.getRoots()));
+    }
+
+    @Test
+    void testStreamingBuildReportsProblems() {
+        Category duplicate = new Category(2L, null, "duplicate");
+        List<Category> items = List.of(
+                new Category(3L, 2L, "child before parent"),
+                new Category(2L, 1L, "parent"),
+                new Category(1L, null, "root"),
+                new Category(4L, 99L, "orphan"),
+                new Category(5L, 6L, "cycle a"),
+                new Category(6L, 5L, "cycle b"),
+                new Category(7L, 6L, "below cycle"),
+                duplicate
+        );
+        TreeBuildResult<Category, Long> result = TreeBuilder.buildFrom(items.iterator(), Category::getId, Category::getParentId);
+
+        assertFalse(result.isClean());
+        assertEquals(List.of(1L, 4L), result.getRoots().stream().map(n -> n.getData().getId()).toList());
+        assertEquals(List.of(4L), result.getOrphans().stream().map(n -> n.getData().getId()).toList());
+        assertEquals(List.of(5L, 6L, 7L), result.getCycles().stream().map(n -> n.getData().getId()).sorted().toList());
+        assertEquals(List.of(duplicate), result.getDuplicates());
+        assertEquals("child before parent", result.getTree().childrenOf(2L).get(0).getData().getName());
+        assertEquals(7, result.getTree().size());
+    }
+
+    @Test
+    void testStreamingBuildEmpty() {
+        TreeBuildResult<Category, Long> result = TreeBuilder.buildFrom((Iterator<Category>) null, Category::getId, Category::getParentId);
+        assertTrue(result.getRoots().isEmpty());
+        assertTrue(result.isClean());
+    }
+}
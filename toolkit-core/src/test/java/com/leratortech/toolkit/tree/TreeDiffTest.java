@@ -0,0 +1,90 @@
+package com.leratortech.toolkit.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeDiffTest {
+
+    private static IndexedTree<Category, Long> build(List<Category> items) {
+        return TreeBuilder.buildIndexedTree(items, Category::getId, Category::getParentId);
+    }
+
+    private static boolean sameName(Category a, Category b) {
+        return a.getName().equals(b.getName());
+    }
+
+    /** id -> "parentId:name" for every node, so sibling order does not matter */
+    private static Map<Long, String> structure(IndexedTree<Category, Long> tree) {
+        Map<Long, String> result = new HashMap<>();
+        TreeWalker.preOrder(tree.getRoots(), node ->
+                result.put(node.getData().getId(), tree.parentIdOf(node.getData().getId()) + ":" + node.getData().getName()));
+        return result;
+    }
+
+    @Test
+    void testEditScript() {
+        IndexedTree<Category, Long> before = build(List.of(
+                new Category(1L, null, "Electronics"),
+                new Category(2L, 1L, "Laptops"),
+                new Category(3L, 1L, "Phones"),
+                new Category(4L, 3L, "Android"),
+                new Category(5L, 4L, "Pixel"),
+                new Category(6L, null, "Books")
+        ));
+        IndexedTree<Category, Long> after = build(List.of(
+                new Category(1L, null, "Electronics"),
+                new Category(2L, 1L, "Notebooks"),
+                new Category(5L, 1L, "Pixel"),
+                new Category(6L, null, "Books"),
+                new Category(7L, 6L, "Fiction")
+        ));
+
+        List<TreeEdit<Category, Long>> edits = TreeDiff.diff(before, after, TreeDiffTest::sameName);
+
+        assertEquals(List.of(
+                "UPDATED 2", "MOVED 5", "ADDED 7", "REMOVED 3"
+        ), edits.stream().map(e -> e.type() + " " + e.id()).toList());
+        TreeEdit<Category, Long> moved = edits.get(1);
+        assertEquals(4L, moved.oldParentId());
+        assertEquals(1L, moved.parentId());
+        assertEquals("Laptops", edits.get(0).oldData().getName());
+    }
+
+    @Test
+    void testIdenticalTreesHaveNoEdits() {
+        List<Category> items = TreeBuilderTest.randomCategories(5_000, 8);
+        assertTrue(TreeDiff.diff(build(items), build(items)).isEmpty());
+    }
+
+    @Test
+    void testApplyReproducesNewTree() {
+        Random random = new Random(4);
+        List<Category> oldItems = TreeBuilderTest.randomCategories(5_000, 4);
+        List<Category> newItems = new ArrayList<>();
+        for (Category c : oldItems) {
+            int roll = random.nextInt(20);
+            if (roll == 0) continue;                                            // removed
+            long parentId = 1 + random.nextInt(5_000);
+            if (roll == 1 && parentId < c.getId()) newItems.add(new Category(c.getId(), parentId, c.getName())); // moved
+            else if (roll == 2) newItems.add(new Category(c.getId(), c.getParentId(), c.getName() + "'"));      // updated
+            else newItems.add(c);
+        }
+        for (long id = 5_001; id <= 5_200; id++) {
+            newItems.add(new Category(id, 1 + (long) random.nextInt((int) id - 1), "new" + id));             // added
+        }
+        IndexedTree<Category, Long> before = build(oldItems);
+        IndexedTree<Category, Long> after = build(newItems);
+
+        List<TreeEdit<Category, Long>> edits = TreeDiff.diff(before, after, TreeDiffTest::sameName);
+        MutableTree<Category, Long> target = MutableTree.of(build(oldItems), Category::getParentId);
+        TreeDiff.apply(target, edits);
+
+        assertEquals(structure(after), structure(target.asIndexedTree()));
+        assertEquals(after.size(), target.size());
+        assertEquals(target.size(), target.getRoots().stream()
+                .mapToInt(r -> target.subtreeSize(r.getData().getId())).sum(), "subtree sizes kept up to date");
+    }
+}
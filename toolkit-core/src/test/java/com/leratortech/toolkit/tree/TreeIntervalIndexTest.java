@@ -0,0 +1,68 @@
+package com.leratortech.toolkit.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeIntervalIndexTest {
+
+    private final IndexedTree<Category, Long> tree = TreeUtils.buildIndexedTree(
+            List.of(
+                    new Category(1L, null, "Electronics"),
+                    new Category(2L, 1L, "Laptops"),
+                    new Category(3L, 1L, "Phones"),
+                    new Category(4L, 2L, "Gaming Laptops"),
+                    new Category(5L, null, "Books"),
+                    new Category(6L, 5L, "Fiction")
+            ),
+            Category::getId,
+            Category::getParentId
+    );
+
+    private final TreeIntervalIndex<Category> index = TreeUtils.intervalIndex(tree.getRoots());
+
+    @Test
+    void testPreOrder() {
+        assertEquals(6, index.size());
+        assertEquals(TreeUtils.flatten(tree.getRoots()), index.nodes());
+        assertEquals(0, index.indexOf(tree.get(1L)));
+        assertEquals(-1, index.indexOf(new TreeNode<>(new Category(9L, null, "Other"))));
+    }
+
+    @Test
+    void testIsAncestor() {
+        assertTrue(index.isAncestor(tree.get(1L), tree.get(4L)));
+        assertTrue(index.isAncestor(tree.get(2L), tree.get(4L)));
+        assertFalse(index.isAncestor(tree.get(3L), tree.get(4L)));
+        assertFalse(index.isAncestor(tree.get(4L), tree.get(4L)));
+        assertTrue(index.isAncestorOrSelf(tree.get(4L), tree.get(4L)));
+        assertFalse(index.isAncestor(tree.get(1L), tree.get(6L)));
+    }
+
+    @Test
+    void testSubtreeViews() {
+        assertEquals(4, index.subtreeSize(tree.get(1L)));
+        assertEquals(1, index.subtreeSize(tree.get(4L)));
+        assertEquals(List.of(tree.get(2L), tree.get(4L), tree.get(3L)), index.descendants(tree.get(1L)));
+        assertEquals(List.of(tree.get(5L), tree.get(6L)), index.subtree(tree.get(5L)));
+        assertTrue(index.descendants(tree.get(4L)).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> index.subtree(tree.get(1L)).clear());
+    }
+
+    @Test
+    void testDepthAndParent() {
+        assertEquals(0, index.depth(tree.get(5L)));
+        assertEquals(2, index.depth(tree.get(4L)));
+        int laptops = index.indexOf(tree.get(2L));
+        assertEquals(laptops, index.parentIndex(index.indexOf(tree.get(4L))));
+        assertEquals(-1, index.parentIndex(index.indexOf(tree.get(1L))));
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, TreeIntervalIndex.<Category>of(null).size());
+        assertEquals(0, TreeIntervalIndex.<Category>of(List.of()).size());
+    }
+}
@@ -0,0 +1,76 @@
+package com.leratortech.toolkit.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreePathIndexTest {
+
+    private final List<TreeNode<AdministrativeUnit>> tree = TreeUtils.buildTree(
+            List.of(
+                    new AdministrativeUnit(1L, null, "Hà Nội", "Thành phố"),
+                    new AdministrativeUnit(2L, 1L, "Ba Đình", "Quận"),
+                    new AdministrativeUnit(3L, 1L, "Hoàn Kiếm", "Quận"),
+                    new AdministrativeUnit(4L, 2L, "Phúc Xá", "Phường"),
+                    new AdministrativeUnit(5L, 2L, "Trúc Bạch", "Phường"),
+                    new AdministrativeUnit(6L, 3L, "Hàng Bạc", "Phường"),
+                    new AdministrativeUnit(7L, null, "TP Hồ Chí Minh", "Thành phố"),
+                    new AdministrativeUnit(8L, 7L, "Quận 1", "Quận"),
+                    new AdministrativeUnit(9L, 8L, "Bến Nghé", "Phường")
+            ),
+            AdministrativeUnit::getId,
+            AdministrativeUnit::getParentId
+    );
+
+    private final TreePathIndex<AdministrativeUnit> index = TreePathIndex.of(tree, AdministrativeUnit::getName);
+
+    private static List<String> names(List<TreeNode<AdministrativeUnit>> nodes) {
+        return nodes.stream().map(n -> n.getData().getName()).toList();
+    }
+
+    @Test
+    void testNormalize() {
+        assertEquals("ha noi", TreePathIndex.normalize("  Hà   Nội "));
+        assertEquals("dong da", TreePathIndex.normalize("Đống Đa"));
+        assertEquals("phuc xa", TreePathIndex.normalize("Phu\u0301c Xa\u0301")); // decomposed input
+    }
+
+    @Test
+    void testResolvePath() {
+        assertEquals(4L, index.resolve("Hà Nội / Ba Đình / Phúc Xá").getData().getId());
+        assertEquals(4L, index.resolve("ha noi/ba dinh/PHUC XA").getData().getId());
+        assertEquals(1L, index.resolve("Hà Nội").getData().getId());
+        assertEquals(9L, index.resolve("tp ho chi minh / quan 1 / ben nghe").getData().getId());
+
+        assertNull(index.resolve("Hà Nội / Phúc Xá"));
+        assertNull(index.resolve("Hà Nội / Ba Đình /"));
+        assertNull(index.resolve("Ba Đình"));
+        assertNull(index.resolve(""));
+        assertTrue(index.find("Hà Nội / Hoàn Kiếm").isPresent());
+
+        TreeNode<AdministrativeUnit> node = index.resolve("ha noi / hoan kiem / hang bac");
+        assertEquals("Hà Nội / Hoàn Kiếm / Hàng Bạc", index.pathOf(node));
+    }
+
+    @Test
+    void testAutocomplete() {
+        assertEquals(List.of("Hà Nội", "Hàng Bạc"), names(index.autocomplete("ha", 10)));
+        assertEquals(List.of("Trúc Bạch", "Hàng Bạc"), names(index.autocomplete("bac", 10)));
+        assertEquals(List.of("Hà Nội"), names(index.autocomplete("ha", 1)));
+        assertEquals(List.of("TP Hồ Chí Minh"), names(index.autocomplete("chi m", 10)));
+        assertTrue(index.autocomplete("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void testAutocompleteWithinSubtree() {
+        TreeNode<AdministrativeUnit> baDinh = index.resolve("Hà Nội / Ba Đình");
+        assertEquals(List.of("Trúc Bạch"), names(index.autocomplete("bạc", baDinh, 10)));
+        assertEquals(List.of("Ba Đình", "Phúc Xá", "Trúc Bạch"), names(index.autocomplete("", baDinh, 10)));
+
+        TreeNode<AdministrativeUnit> hcm = index.resolve("TP Hồ Chí Minh");
+        assertTrue(index.autocomplete("ha", hcm, 10).isEmpty());
+        assertEquals(List.of("Bến Nghé"), names(index.autocomplete("ben", hcm, 10)));
+    }
+}
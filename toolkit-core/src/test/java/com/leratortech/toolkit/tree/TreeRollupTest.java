@@ -0,0 +1,67 @@
+package com.leratortech.toolkit.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeRollupTest {
+
+    @Test
+    void testSumMinMaxCount() {
+        List<TreeNode<Category>> roots = TreeUtils.buildTree(
+                List.of(
+                        new Category(1L, null, "Electronics"),
+                        new Category(2L, 1L, "Laptops"),
+                        new Category(3L, 1L, "Phones"),
+                        new Category(4L, 2L, "Gaming Laptops"),
+                        new Category(5L, null, "Books")
+                ),
+                Category::getId,
+                Category::getParentId
+        );
+        TreeIntervalIndex<Category> index = TreeUtils.intervalIndex(roots);
+        int electronics = index.indexOf(roots.get(0));
+        int laptops = index.indexOf(roots.get(0).getChildren().get(0));
+
+        assertEquals(1 + 2 + 3 + 4, TreeUtils.rollupSum(index, Category::getId)[electronics]);
+        assertEquals(2 + 4, TreeRollup.sum(index, Category::getId)[laptops]);
+        assertEquals(1, TreeRollup.min(index, Category::getId)[electronics]);
+        assertEquals(4, TreeRollup.max(index, Category::getId)[electronics]);
+        assertEquals(4, TreeRollup.count(index)[electronics]);
+        assertEquals(5, TreeRollup.sum(index, Category::getId)[index.indexOf(roots.get(1))]);
+    }
+
+    @Test
+    void testMatchesDescendantScan() {
+        List<TreeNode<Category>> roots = TreeUtils.buildTree(TreeBuilderTest.randomCategories(3_000, 5), Category::getId, Category::getParentId);
+        TreeIntervalIndex<Category> index = TreeUtils.intervalIndex(roots);
+        long[] sums = TreeRollup.sum(index, Category::getId);
+        for (int i = 0; i < index.size(); i += 97) {
+            TreeNode<Category> node = index.nodeAt(i);
+            long expected = node.getData().getId() + TreeUtils.getDescendants(node).stream().mapToLong(n -> n.getData().getId()).sum();
+            assertEquals(expected, sums[i]);
+        }
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<TreeNode<Category>> random = TreeUtils.buildTree(TreeBuilderTest.randomCategories(100_000, 9), Category::getId, Category::getParentId);
+            TreeIntervalIndex<Category> index = TreeUtils.intervalIndex(random);
+            assertArrayEquals(TreeRollup.sum(index, Category::getId), TreeRollup.rollupParallel(index, Category::getId, Long::sum, pool));
+            assertArrayEquals(TreeRollup.max(index, Category::getId), TreeRollup.rollupParallel(index, Category::getId, Math::max, pool));
+
+            List<Category> chain = new ArrayList<>();
+            for (long i = 1; i <= 100_000; i++) chain.add(new Category(i, i == 1 ? null : i - 1, "c" + i));
+            TreeIntervalIndex<Category> deep = TreeUtils.intervalIndex(TreeUtils.buildTree(chain, Category::getId, Category::getParentId));
+            assertArrayEquals(TreeRollup.sum(deep, Category::getId), TreeRollup.rollupParallel(deep, Category::getId, Long::sum, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
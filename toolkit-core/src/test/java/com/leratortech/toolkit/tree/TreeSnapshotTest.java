@@ -0,0 +1,110 @@
+package com.leratortech.toolkit.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeSnapshotTest {
+
+    private final List<Category> categories = List.of(
+            new Category(1L, null, "Electronics"),
+            new Category(2L, 1L, "Laptops"),
+            new Category(3L, 1L, "Phones"),
+            new Category(4L, 2L, "Gaming Laptops"),
+            new Category(5L, null, "Books")
+    );
+
+    @Test
+    void testSnapshotQueries() {
+        TreeSnapshot<Category, Long> snapshot = TreeUtils.buildSnapshot(categories, Category::getId, Category::getParentId);
+
+        assertEquals(5, snapshot.size());
+        assertEquals(2, snapshot.getRoots().size());
+        assertEquals("Laptops", snapshot.parentOf(4L).getData().getName());
+        assertEquals(2, snapshot.get(4L).getDepth());
+        assertEquals(List.of(1L, 2L), snapshot.ancestorsOf(4L).stream().map(snapshot::idOf).toList());
+        assertEquals(TreeUtils.flattenData(TreeUtils.buildTree(categories, Category::getId, Category::getParentId)),
+                snapshot.flattenData());
+        assertTrue(snapshot.childrenOf(99L).isEmpty());
+    }
+
+    @Test
+    void testSnapshotIsImmutable() {
+        TreeSnapshot<Category, Long> snapshot = TreeUtils.buildSnapshot(categories, Category::getId, Category::getParentId);
+
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getRoots().clear());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.childrenOf(1L).remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.get(4L).getChildren().add(null));
+    }
+
+    @Test
+    void testCopyIsDetachedFromSource() {
+        MutableTree<Category, Long> mutable = MutableTree.of(categories, Category::getId, Category::getParentId);
+        TreeSnapshot<Category, Long> snapshot = TreeSnapshot.of(mutable.getRoots(), Category::getId, 0);
+
+        mutable.move(4L, 5L);
+        mutable.remove(3L);
+
+        assertEquals(2L, snapshot.idOf(snapshot.parentOf(4L)));
+        assertTrue(snapshot.contains(3L));
+        TreeSnapshot<Category, Long> next = TreeSnapshot.of(mutable.getRoots(), Category::getId, 0);
+        assertEquals(5L, next.idOf(next.parentOf(4L)));
+        assertFalse(next.contains(3L));
+    }
+
+    @Test
+    void testHolderPublishesNewVersions() {
+        TreeSnapshotHolder<Category, Long> holder = new TreeSnapshotHolder<>(categories, Category::getId, Category::getParentId);
+        TreeSnapshot<Category, Long> first = holder.current();
+        assertEquals(1, first.version());
+
+        List<Category> changed = new ArrayList<>(categories);
+        changed.add(new Category(6L, 5L, "Fiction"));
+        holder.reload(changed);
+
+        assertEquals(2, holder.version());
+        assertTrue(holder.current().contains(6L));
+        assertFalse(first.contains(6L), "old readers keep their own snapshot");
+
+        TreeSnapshot<Category, Long> rebuilt = TreeSnapshot.build(categories, Category::getId, Category::getParentId);
+        assertFalse(holder.publishIfCurrent(first, rebuilt), "stale base must not overwrite a newer version");
+        assertTrue(holder.publishIfCurrent(holder.current(), rebuilt));
+        assertEquals(3, holder.version());
+    }
+
+    @Test
+    void testConcurrentReadersSeeWholeTrees() throws Exception {
+        List<Category> small = TreeBuilderTest.randomCategories(2_000, 1);
+        List<Category> large = TreeBuilderTest.randomCategories(4_000, 2);
+        TreeSnapshotHolder<Category, Long> holder = new TreeSnapshotHolder<>(small, Category::getId, Category::getParentId);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(4);
+        for (int r = 0; r < 4; r++) {
+            new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        TreeSnapshot<Category, Long> snapshot = holder.current();
+                        int seen = snapshot.flattenData().size();
+                        if (seen != snapshot.size()) failure.set("saw " + seen + " of " + snapshot.size());
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        for (int i = 0; i < 50; i++) holder.reload(i % 2 == 0 ? large : small);
+        running.set(false);
+        done.await();
+
+        assertNull(failure.get());
+        assertEquals(51, holder.version());
+    }
+}
@@ -0,0 +1,82 @@
+package com.leratortech.toolkit.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeSortTest {
+
+    private static final Comparator<TreeNode<Category>> BY_NAME = Comparator.comparing(n -> n.getData().getName());
+
+    /** Random forest under a single synthetic root, so one call sorts everything */
+    private static TreeNode<Category> randomTree(int size, long seed) {
+        TreeNode<Category> root = new TreeNode<>(new Category(0L, null, "root"));
+        for (TreeNode<Category> node : TreeBuilder.buildTree(TreeBuilderTest.randomCategories(size, seed),
+                Category::getId, Category::getParentId)) {
+            root.addChild(node);
+        }
+        return root;
+    }
+
+    private static List<String> preOrder(TreeNode<Category> root) {
+        return TreeUtils.flattenData(List.of(root)).stream().map(Category::getName).toList();
+    }
+
+    @Test
+    void testSortTreeBy() {
+        TreeNode<Category> expected = randomTree(20_000, 3);
+        TreeNode<Category> actual = randomTree(20_000, 3);
+        TreeSort.sortTree(expected, BY_NAME);
+
+        AtomicInteger keyCalls = new AtomicInteger();
+        TreeUtils.sortTreeBy(actual, c -> {
+            keyCalls.incrementAndGet();
+            return c.getName();
+        });
+
+        assertEquals(preOrder(expected), preOrder(actual));
+        assertTrue(keyCalls.get() <= 20_000, "one key per node, got " + keyCalls.get());
+    }
+
+    @Test
+    void testParallelSortMatchesSequential() {
+        TreeNode<Category> expected = randomTree(100_000, 5);
+        TreeNode<Category> parallel = randomTree(100_000, 5);
+        TreeNode<Category> parallelBy = randomTree(100_000, 5);
+        TreeSort.sortTree(expected, BY_NAME);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TreeSort.sortTreeParallel(parallel, BY_NAME, pool);
+            TreeSort.sortTreeByParallel(parallelBy, Category::getName, Comparator.naturalOrder(), pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(preOrder(expected), preOrder(parallel));
+        assertEquals(preOrder(expected), preOrder(parallelBy));
+    }
+
+    @Test
+    void testParallelSortDeepChain() {
+        TreeNode<Category> root = new TreeNode<>(new Category(0L, null, "root"));
+        TreeNode<Category> current = root;
+        List<TreeNode<Category>> chain = new ArrayList<>();
+        for (long i = 1; i <= 50_000; i++) {
+            current.addChild(new TreeNode<>(new Category(i + 100_000, null, "z" + i)));
+            TreeNode<Category> next = new TreeNode<>(new Category(i, null, "a" + i));
+            current.addChild(next);
+            chain.add(next);
+            current = next;
+        }
+        TreeUtils.sortTreeParallel(root, BY_NAME);
+        for (TreeNode<Category> node : chain) {
+            assertSame(node, node.getParent().getChildren().get(0));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.leratortech.toolkit.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeSpliteratorTest {
+
+    /** Counts how many nodes had their children expanded */
+    static class CountingNode extends TreeNode<Long> {
+        private final AtomicInteger expanded;
+
+        CountingNode(Long data, AtomicInteger expanded) {
+            super(data);
+            this.expanded = expanded;
+        }
+
+        @Override
+        public List<TreeNode<Long>> getChildren() {
+            expanded.incrementAndGet();
+            return super.getChildren();
+        }
+    }
+
+    private static List<TreeNode<Long>> balanced(int fanOut, int levels, AtomicInteger expanded) {
+        List<TreeNode<Long>> roots = new ArrayList<>();
+        long[] id = {0};
+        for (int r = 0; r < fanOut; r++) roots.add(grow(fanOut, levels - 1, id, expanded));
+        return roots;
+    }
+
+    private static TreeNode<Long> grow(int fanOut, int levels, long[] id, AtomicInteger expanded) {
+        TreeNode<Long> node = new CountingNode(++id[0], expanded);
+        if (levels > 0) for (int i = 0; i < fanOut; i++) node.addChild(grow(fanOut, levels - 1, id, expanded));
+        return node;
+    }
+
+    @Test
+    void testOrderMatchesWalker() {
+        List<TreeNode<Long>> roots = balanced(3, 4, new AtomicInteger());
+        assertEquals(TreeUtils.flatten(roots), TreeUtils.stream(roots).toList());
+        assertEquals(TreeWalker.collect(roots, TreeWalker.Order.LEVEL_ORDER, 0),
+                TreeUtils.stream(roots, TreeWalker.Order.LEVEL_ORDER).toList());
+        assertEquals(TreeUtils.flattenData(roots), TreeUtils.streamData(roots).toList());
+    }
+
+    @Test
+    void testShortCircuitIsLazy() {
+        AtomicInteger expanded = new AtomicInteger();
+        List<TreeNode<Long>> roots = balanced(10, 5, expanded); // 111110 nodes
+
+        assertEquals(List.of(1L, 2L, 3L), TreeUtils.streamData(roots).limit(3).toList());
+        assertTrue(expanded.get() <= 3, "expanded " + expanded.get());
+
+        expanded.set(0);
+        assertTrue(TreeUtils.streamData(roots).anyMatch(id -> id == 10L));
+        assertTrue(expanded.get() <= 10, "expanded " + expanded.get());
+    }
+
+    @Test
+    void testParallelKeepsEncounterOrder() {
+        List<TreeNode<Long>> roots = balanced(6, 6, new AtomicInteger());
+        List<Long> sequential = TreeUtils.streamData(roots).toList();
+        List<Long> parallel = TreeUtils.streamData(roots).parallel().toList();
+        assertEquals(sequential, parallel);
+        assertEquals(sequential.stream().mapToLong(Long::longValue).sum(),
+                TreeUtils.streamData(roots).parallel().mapToLong(Long::longValue).sum());
+        assertEquals(sequential.get(100), TreeUtils.streamData(roots).parallel().skip(100).findFirst().orElseThrow());
+    }
+
+    @Test
+    void testSplitsBySubtree() {
+        TreeSpliterator<Long> spliterator = TreeSpliterator.depthFirst(balanced(1, 3, new AtomicInteger()));
+        assertNotNull(spliterator.trySplit()); // single root handed off alone
+        assertNotNull(spliterator.trySplit()); // remaining children halved
+        assertNull(TreeSpliterator.breadthFirst(balanced(2, 2, new AtomicInteger())).trySplit());
+        assertThrows(IllegalArgumentException.class, () -> TreeUtils.stream(List.<TreeNode<Long>>of(), TreeWalker.Order.POST_ORDER));
+    }
+
+    @Test
+    void testChainSplitsShrinkEstimate() {
+        TreeNode<Long> root = new TreeNode<>(0L);
+        TreeNode<Long> current = root;
+        for (long i = 1; i < 100_000; i++) {
+            TreeNode<Long> child = new TreeNode<>(i);
+            current.addChild(child);
+            current = child;
+        }
+        TreeSpliterator<Long> spliterator = TreeSpliterator.depthFirst(List.of(root));
+        long previous = spliterator.estimateSize();
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(spliterator.trySplit()); // lone root of the chain handed off
+            long estimate = spliterator.estimateSize();
+            assertEquals(previous >>> 1, estimate);
+            previous = estimate;
+        }
+
+        // the framework stops splitting once the estimate has shrunk, instead of one task per node
+        assertEquals(100_000, TreeUtils.stream(List.of(root)).parallel().count());
+        assertEquals(99_999L * 100_000 / 2, TreeUtils.stream(List.of(root)).parallel().mapToLong(TreeNode::getData).sum());
+    }
+}
@@ -0,0 +1,97 @@
+package com.leratortech.toolkit.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeWalkerTest {
+
+    private final List<TreeNode<Category>> tree = TreeUtils.buildTree(
+            List.of(
+                    new Category(1L, null, "Electronics"),
+                    new Category(2L, 1L, "Phones"),
+                    new Category(3L, 1L, "Laptops"),
+                    new Category(4L, 3L, "Gaming Laptops"),
+                    new Category(5L, null, "Books"),
+                    new Category(6L, 5L, "Fiction")
+            ),
+            Category::getId,
+            Category::getParentId
+    );
+
+    private static List<Long> ids(List<TreeNode<Category>> nodes) {
+        return nodes.stream().map(n -> n.getData().getId()).toList();
+    }
+
+    private List<Long> walkIds(TreeWalker.Order order) {
+        List<TreeNode<Category>> visited = new ArrayList<>();
+        assertTrue(TreeWalker.walk(tree, order, (node, depth) -> visited.add(node)));
+        return ids(visited);
+    }
+
+    @Test
+    void testOrders() {
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), walkIds(TreeWalker.Order.PRE_ORDER));
+        assertEquals(List.of(2L, 4L, 3L, 1L, 6L, 5L), walkIds(TreeWalker.Order.POST_ORDER));
+        assertEquals(List.of(1L, 5L, 2L, 3L, 6L, 4L), walkIds(TreeWalker.Order.LEVEL_ORDER));
+    }
+
+    @Test
+    void testFlattenWithSizeHint() {
+        List<TreeNode<Category>> expected = TreeUtils.flatten(tree);
+        assertEquals(expected, TreeUtils.flatten(tree, expected.size()));
+        // a wrong hint only affects the initial capacity
+        assertEquals(expected, TreeUtils.flatten(tree, 1));
+        assertEquals(expected, TreeUtils.flatten(tree, -5));
+    }
+
+    @Test
+    void testDepthAnnotated() {
+        List<String> visits = new ArrayList<>();
+        TreeWalker.walk(tree, TreeWalker.Order.POST_ORDER, (node, depth) -> visits.add(node.getData().getId() + "@" + depth));
+        assertEquals(List.of("2@1", "4@2", "3@1", "1@0", "6@1", "5@0"), visits);
+    }
+
+    @Test
+    void testEarlyTermination() {
+        List<Long> visited = new ArrayList<>();
+        boolean completed = TreeWalker.walk(tree, TreeWalker.Order.PRE_ORDER, (node, depth) -> {
+            visited.add(node.getData().getId());
+            return node.getData().getId() != 3L;
+        });
+        assertFalse(completed);
+        assertEquals(List.of(1L, 2L, 3L), visited);
+        assertEquals(4L, TreeUtils.findNode(tree, n -> n.getData().getName().startsWith("Gaming")).orElseThrow().getData().getId());
+    }
+
+    @Test
+    void testSortTree() {
+        TreeUtils.sortTree(tree.get(0), Comparator.comparing(n -> n.getData().getName()));
+        assertEquals(List.of(3L, 4L, 2L), ids(TreeUtils.getDescendants(tree.get(0))));
+    }
+
+    @Test
+    void testDegenerateChainDoesNotOverflow() {
+        int n = 200_000;
+        List<Category> chain = new ArrayList<>(n);
+        for (long i = 1; i <= n; i++) chain.add(new Category(i, i == 1 ? null : i - 1, "c" + i));
+        IndexedTree<Category, Long> deep = TreeUtils.buildIndexedTree(chain, Category::getId, Category::getParentId);
+
+        assertEquals(n, TreeUtils.flatten(deep).size());
+        assertEquals(n, TreeUtils.flattenData(deep.getRoots()).size());
+        assertEquals(n, TreeUtils.getHeight(deep.getRoots()));
+        assertEquals(n, TreeUtils.getDepth(deep.get(1L)));
+        assertEquals(n - 1, TreeUtils.getDescendants(deep.get(1L)).size());
+        assertEquals((long) n, TreeUtils.findNodeById(deep.getRoots(), Category::getId, (long) n).orElseThrow().getData().getId());
+        TreeUtils.sortTree(deep.get(1L), Comparator.comparing(node -> node.getData().getName()));
+
+        List<Long> postOrder = new ArrayList<>(n);
+        TreeWalker.postOrder(deep.getRoots(), node -> postOrder.add(node.getData().getId()));
+        assertEquals((long) n, postOrder.get(0));
+        assertEquals(1L, postOrder.get(n - 1));
+    }
+}
@@ -68,6 +68,16 @@ public class VietnamAdminTreeExample {
             System.out.println("Ancestors: " + TreeUtils.getAncestors(node));
         });
 
+        // Indexed tree: O(1) lookup by id
+        IndexedTree<AdministrativeUnit, Long> indexed = TreeUtils.buildIndexedTree(
+                units,
+                AdministrativeUnit::getId,
+                AdministrativeUnit::getParentId
+        );
+        System.out.println("\nIndexed lookup 4: " + indexed.get(4L));
+        System.out.println("Parent of 4: " + indexed.parentOf(4L));
+        System.out.println("Children of 1: " + indexed.childrenOf(1L));
+
         // Tree stats
         int height = TreeUtils.getHeight(tree);
         System.out.println("\nTree height: " + height);